@@ -0,0 +1,105 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory data for the benchmarks, so they measure the Java code
+ * paths only. Database cost is covered by the load-test harness.
+ */
+public final class Fixtures {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static final String[] DESCRIPTIONS = {
+            "Plain description without special characters",
+            "Needs review, then \"sign-off\" from the team",
+            "Multi-line notes:\nstep one\r\nstep two",
+            null
+    };
+
+    private Fixtures() {
+    }
+
+    public static User user(long id, Role role, User manager) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(role.name().toLowerCase() + id);
+        user.setPassword("{noop}password");
+        user.setRole(role);
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setManager(manager);
+        return user;
+    }
+
+    public static List<Task> tasks(int count) {
+        User manager = user(1, Role.MANAGER, null);
+        List<User> reports = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            reports.add(user(10 + i, Role.USER, manager));
+        }
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User creator = reports.get(i % reports.size());
+            User assignee = reports.get((i / 3) % reports.size());
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription(DESCRIPTIONS[i % DESCRIPTIONS.length]);
+            task.setStatus(statuses[i % statuses.length]);
+            task.setPriority(priorities[i % priorities.length]);
+            task.setCreatedDate(START.plusMinutes(i));
+            task.setCreateUserId(creator.getId());
+            task.setCreateUser(creator);
+            task.setAssignedUserId(assignee.getId());
+            task.setAssignedUser(assignee);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    public static List<TaskView> views(List<Task> tasks) {
+        List<TaskView> views = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            views.add(TaskView.of(task));
+        }
+        return views;
+    }
+
+    /**
+     * A TaskRepository answering the read paths used by TaskService from fixed lists.
+     */
+    public static TaskRepository taskRepository(List<Task> tasks, List<TaskView> views) {
+        return (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[] { TaskRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "streamViews" -> views.stream();
+                    case "findAll", "findTasksForUser", "findTasksForManager" -> tasks;
+                    case "toString" -> "FixtureTaskRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Services use field injection, so wire them the way the container would
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName, e);
+        }
+    }
+}
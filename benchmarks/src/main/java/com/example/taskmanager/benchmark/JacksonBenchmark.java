@@ -0,0 +1,47 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.entity.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes Task lists the way the REST layer does (JavaTimeModule, ISO dates,
+ * associations included), streaming into a discarding sink.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JacksonBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private List<Task> tasks;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        tasks = Fixtures.tasks(rows);
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Task.class));
+    }
+
+    @Benchmark
+    public void serializeTasks() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.benchmark.Fixtures;
+import com.example.taskmanager.entity.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification body formatting, run once or twice for every created task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailServiceBenchmark {
+
+    private EmailService emailService;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService();
+        task = Fixtures.tasks(2).get(1);
+    }
+
+    @Benchmark
+    public String buildEmailBody() {
+        return emailService.buildEmailBody(task);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanager.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV field escaping (the former TaskService.escapeSpecialCharacters) across the
+ * input shapes seen in real data: plain text, text that needs quoting, and text
+ * with line breaks to fold.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskCsvWriterBenchmark {
+
+    @Param({ "plain", "quoted", "multiline" })
+    public String shape;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        input = switch (shape) {
+            case "plain" -> "Prepare the quarterly report for the finance team before Friday";
+            case "quoted" -> "Prepare the \"quarterly\" report, then send it to finance, legal and HR";
+            case "multiline" -> "Prepare the quarterly report\r\nfor the finance team\nbefore Friday";
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    @Benchmark
+    public String escape() {
+        return TaskCsvWriter.escape(input);
+    }
+}
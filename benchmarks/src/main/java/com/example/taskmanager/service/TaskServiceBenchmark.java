@@ -0,0 +1,84 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.benchmark.Fixtures;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService hot paths over an in-memory repository: the CSV export pipeline
+ * (buffering, escaping and row formatting) and the role dispatch in getAllTasks.
+ */
+public class TaskServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExportState {
+
+        @Param({ "1000", "100000", "1000000" })
+        public int rows;
+
+        TaskService taskService;
+
+        User admin;
+
+        @Setup
+        public void setUp() {
+            List<Task> tasks = Fixtures.tasks(rows);
+            List<TaskView> views = Fixtures.views(tasks);
+            taskService = new TaskService();
+            Fixtures.inject(taskService, "taskRepository", Fixtures.taskRepository(tasks, views));
+            Fixtures.inject(taskService, "meterRegistry", new SimpleMeterRegistry());
+            admin = Fixtures.user(99, Role.ADMIN, null);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RoleState {
+
+        @Param({ "ADMIN", "MANAGER", "USER" })
+        public Role role;
+
+        TaskService taskService;
+
+        User user;
+
+        @Setup
+        public void setUp() {
+            List<Task> tasks = Fixtures.tasks(100);
+            taskService = new TaskService();
+            Fixtures.inject(taskService, "taskRepository", Fixtures.taskRepository(tasks, Fixtures.views(tasks)));
+            Fixtures.inject(taskService, "meterRegistry", new SimpleMeterRegistry());
+            user = Fixtures.user(1, role, null);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long exportTasksToCsv(ExportState state) throws IOException {
+        return state.taskService.exportTasksToCsv(Writer.nullWriter(), state.admin);
+    }
+
+    // The branch itself is trivial; this guards the dispatch overhead. Query cost is a database concern
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public void getAllTasks(RoleState state, Blackhole blackhole) {
+        blackhole.consume(state.taskService.getAllTasks(state.user));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the highest concurrency the application sustains. Runs the load driver
+ * at increasing worker counts; a level is sustainable while the overall p99 stays
+ * within the SLO and the error rate (failed requests and failed logins) stays
+ * under the limit. Run it once against each threading model on the same machine
+ * and compare the reports.
+ */
+final class CapacityProbe {
+
+    private final Options options;
+    private final String label;
+    private final List<Integer> levels = new ArrayList<>();
+    private final Duration step;
+    private final Duration sloP99;
+    private final double maxErrorRate;
+    private final boolean stopOnFailure;
+    private final File report;
+
+    CapacityProbe(Options options) {
+        this.options = options;
+        this.label = options.string("label", "unlabelled");
+        for (String level : options.string("levels", "16,32,64,128,256,512,1024").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+        this.step = options.duration("step", Duration.ofSeconds(30));
+        this.sloP99 = options.duration("slo-p99", Duration.ofMillis(500));
+        this.maxErrorRate = options.decimal("max-error-rate", 0.01);
+        this.stopOnFailure = Boolean.parseBoolean(options.string("stop-on-failure", "true"));
+        this.report = new File(options.string("report", "target/capacity-" + label + ".json"));
+    }
+
+    void run() throws Exception {
+        List<Level> results = new ArrayList<>();
+        int maxSustainable = 0;
+        double peakThroughput = 0;
+        for (int concurrency : levels) {
+            LoadDriver.LoadReport run = new LoadDriver(options
+                    .with("concurrency", Integer.toString(concurrency))
+                    .with("duration", step.toMillis() + "ms")).measure();
+            LoadDriver.EndpointResult overall = run.overall();
+            long attempts = overall.requests() + overall.errors() + run.failedLogins();
+            double errorRate = attempts == 0 ? 1 : (overall.errors() + run.failedLogins()) / (double) attempts;
+            boolean sustainable = overall.requests() > 0 && overall.p99Ms() <= sloP99.toMillis()
+                    && errorRate <= maxErrorRate;
+            results.add(new Level(concurrency, overall.throughputPerSecond(), overall.p50Ms(), overall.p99Ms(),
+                    errorRate, sustainable));
+            System.out.printf("%n%s: %d workers -> %.1f req/s, p99 %.1f ms, %.2f%% errors: %s%n%n", label,
+                    concurrency, overall.throughputPerSecond(), overall.p99Ms(), errorRate * 100,
+                    sustainable ? "sustainable" : "over capacity");
+            if (sustainable) {
+                maxSustainable = concurrency;
+                peakThroughput = Math.max(peakThroughput, overall.throughputPerSecond());
+            } else if (stopOnFailure) {
+                break;
+            }
+        }
+
+        CapacityReport capacity = new CapacityReport(label, options.string("base-url", "http://localhost:8080"),
+                sloP99.toMillis(), maxErrorRate, maxSustainable, peakThroughput, results);
+        File parent = report.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, capacity);
+        System.out.printf("%s: max sustainable concurrency %d (%.1f req/s). Report written to %s%n", label,
+                maxSustainable, peakThroughput, report.getPath());
+    }
+
+    record Level(int concurrency, double throughputPerSecond, double p50Ms, double p99Ms, double errorRate,
+            boolean sustainable) {
+    }
+
+    record CapacityReport(String label, String baseUrl, long sloP99Ms, double maxErrorRate,
+            int maxSustainableConcurrency, double throughputAtMaxPerSecond, List<Level> levels) {
+    }
+}
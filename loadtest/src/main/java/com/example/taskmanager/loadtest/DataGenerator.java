@@ -0,0 +1,204 @@
+package com.example.taskmanager.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds a database created by the application (H2 in PostgreSQL mode or
+ * PostgreSQL) with a manager hierarchy and a large task table, using plain JDBC
+ * batches so millions of rows load in minutes.
+ *
+ * <p>Managers come in two levels: the first tenth are senior managers, and every
+ * other manager reports to one of them. Users are spread evenly across all
+ * managers. Generated accounts are named {@code lt-m-N} and {@code lt-u-N}, and
+ * all of them use the same password.
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "password";
+
+    private static final String[] STATUSES = { "PENDING", "PENDING", "PENDING", "APPROVED", "APPROVED", "REJECTED" };
+
+    private static final String[] PRIORITIES = { "P0", "P1", "P2", "P2", "P3", "P4" };
+
+    private static final String[] DESCRIPTIONS = {
+            "Routine follow-up",
+            "Review the draft, then send \"final\" version to the client",
+            "Notes:\nfirst line\nsecond line",
+            null
+    };
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final int managers;
+    private final long tasks;
+    private final int batchSize;
+    private final SplittableRandom random;
+
+    DataGenerator(Options options) {
+        this.jdbcUrl = options.string("jdbc-url",
+                "jdbc:h2:file:./target/loadtest/taskmanager;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;AUTO_SERVER=TRUE");
+        this.dbUser = options.string("db-user", "sa");
+        this.dbPassword = options.string("db-password", "");
+        this.users = options.integer("users", 10_000);
+        this.managers = Math.max(1, options.integer("managers", 500));
+        this.tasks = options.longValue("tasks", 1_000_000);
+        this.batchSize = options.integer("batch-size", 5_000);
+        this.random = new SplittableRandom(options.longValue("seed", 42));
+    }
+
+    void run() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(withBatchRewrite(jdbcUrl), dbUser, dbPassword)) {
+            connection.setAutoCommit(false);
+            long firstId = maxId(connection, "users") + 1;
+            long firstManagerId = firstId;
+            long firstUserId = firstId + managers;
+
+            long start = System.nanoTime();
+            insertUsers(connection, firstManagerId, firstUserId);
+            log("users", managers + users, start);
+
+            start = System.nanoTime();
+            long firstTaskId = maxId(connection, "tasks") + 1;
+            insertTasks(connection, firstTaskId, firstManagerId, firstUserId);
+            log("tasks", tasks, start);
+
+            finish(connection, firstUserId + users, firstTaskId + tasks);
+        }
+    }
+
+    // PostgreSQL sends a JDBC batch as one multi-row INSERT only when asked to
+    private static String withBatchRewrite(String url) {
+        if (url.startsWith("jdbc:postgresql:") && !url.contains("reWriteBatchedInserts")) {
+            return url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        }
+        return url;
+    }
+
+    private void insertUsers(Connection connection, long firstManagerId, long firstUserId) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        int seniors = Math.max(1, managers / 10);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, username, password, role, email, manager_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            // Senior managers first so every manager_id refers to an existing row
+            for (int i = 0; i < managers; i++) {
+                Long managerId = i < seniors ? null : firstManagerId + (i % seniors);
+                addUser(insert, firstManagerId + i, "lt-m-" + i, hash, "MANAGER", managerId);
+            }
+            insert.executeBatch();
+            for (int i = 0; i < users; i++) {
+                addUser(insert, firstUserId + i, "lt-u-" + i, hash, "USER", firstManagerId + (i % managers));
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void addUser(PreparedStatement insert, long id, String username, String hash, String role,
+            Long managerId) throws SQLException {
+        insert.setLong(1, id);
+        insert.setString(2, username);
+        insert.setString(3, hash);
+        insert.setString(4, role);
+        insert.setString(5, username + "@loadtest.example.com");
+        if (managerId != null) {
+            insert.setLong(6, managerId);
+        } else {
+            insert.setNull(6, java.sql.Types.BIGINT);
+        }
+        insert.addBatch();
+    }
+
+    private void insertTasks(Connection connection, long firstTaskId, long firstManagerId, long firstUserId)
+            throws SQLException {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        long spanMinutes = 365L * 24 * 60;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tasks (id, title, description, status, priority, assigned_user_id, create_user_id, "
+                        + "created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long i = 0; i < tasks; i++) {
+                int person = random.nextInt(managers + users);
+                long creatorId;
+                long assigneeId;
+                if (person < managers) {
+                    // Managers assign half of their tasks to one of their direct reports
+                    creatorId = firstManagerId + person;
+                    int reports = (users - person + managers - 1) / managers;
+                    assigneeId = reports > 0 && random.nextBoolean()
+                            ? firstUserId + person + (long) managers * random.nextInt(reports)
+                            : creatorId;
+                } else {
+                    creatorId = firstUserId + (person - managers);
+                    assigneeId = creatorId;
+                }
+
+                insert.setLong(1, firstTaskId + i);
+                insert.setString(2, "Load task " + i);
+                insert.setString(3, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+                insert.setString(4, STATUSES[random.nextInt(STATUSES.length)]);
+                insert.setString(5, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                insert.setLong(6, assigneeId);
+                insert.setLong(7, creatorId);
+                insert.setTimestamp(8, Timestamp.valueOf(now.minusMinutes(random.nextLong(spanMinutes))));
+                insert.addBatch();
+
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                    if ((i + 1) % 100_000 == 0) {
+                        System.out.printf("  %,d tasks%n", i + 1);
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Moves id generators past the seeded rows and refreshes state the application
+     * derives from users and tasks.
+     */
+    private void finish(Connection connection, long nextUserId, long nextTaskId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + nextUserId);
+            // tasks_seq is a pooled sequence (allocation size 50); leave a full block of headroom
+            statement.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (nextTaskId + 50));
+            statement.executeUpdate("INSERT INTO task_scope_versions (scope_id, version) SELECT u.id, 0 FROM users u "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM task_scope_versions v WHERE v.scope_id = u.id)");
+            // Cached list ETags predate the seeded rows
+            statement.executeUpdate("UPDATE task_scope_versions SET version = version + 1");
+            // Counters no longer match the tasks table; the application recounts missing scopes on its next start
+            statement.executeUpdate("DELETE FROM task_counters");
+        }
+        connection.commit();
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void log(String what, long rows, long startNanos) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+        System.out.printf("Inserted %,d %s in %.1f s (%,.0f rows/s)%n", rows, what, seconds, rows / seconds);
+    }
+}
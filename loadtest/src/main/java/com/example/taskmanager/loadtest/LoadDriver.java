@@ -0,0 +1,297 @@
+package com.example.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver. Each worker logs in once as a generated user and
+ * once as a generated manager; when every worker has logged in, they issue
+ * requests back to back, choosing the endpoint by the configured weights.
+ * Latencies recorded after the warmup go into one HdrHistogram per endpoint. The
+ * JSON report lists p50/p95/p99/max and throughput for each endpoint and for all
+ * of them together. All workers share one HttpClient and carry their session
+ * cookie themselves, so a run with thousands of workers does not start a
+ * selector thread per worker.
+ */
+final class LoadDriver {
+
+    private final URI baseUrl;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Map<String, Integer> mix;
+    private final int pageSize;
+    private final double managerShare;
+    private final int userAccounts;
+    private final int managerAccounts;
+    private final String password;
+    private final Duration timeout;
+    private final File report;
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final List<String> weighted = new ArrayList<>();
+
+    private final LongAdder failedLogins = new LongAdder();
+
+    private final HttpClient client;
+
+    // Set once every worker has logged in
+    private volatile long end;
+
+    LoadDriver(Options options) {
+        this.baseUrl = URI.create(options.string("base-url", "http://localhost:8080"));
+        this.concurrency = options.integer("concurrency", 16);
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.mix = parseMix(options.string("mix", "list=60,create=20,users=15,export=5"));
+        this.pageSize = options.integer("page-size", 100);
+        this.managerShare = options.decimal("manager-share", 0.25);
+        this.userAccounts = options.integer("users", 10_000);
+        this.managerAccounts = options.integer("managers", 500);
+        this.password = options.string("password", DataGenerator.PASSWORD);
+        this.timeout = options.duration("timeout", Duration.ofSeconds(30));
+        this.report = new File(options.string("report", "target/loadtest-report.json"));
+
+        mix.forEach((name, weight) -> {
+            endpoints.put(name, new Endpoint());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(name);
+            }
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            String name = kv[0].trim();
+            if (!List.of("list", "create", "users", "export").contains(name)) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(name, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + spec);
+        }
+        return mix;
+    }
+
+    void run() throws Exception {
+        writeReport(measure());
+    }
+
+    // Runs one warmup plus measurement window at the configured concurrency and prints the results
+    LoadReport measure() throws Exception {
+        System.out.printf("Driving %s with %d workers for %s (+%s warmup), mix %s%n", baseUrl, concurrency, duration,
+                warmup, mix);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch loggedIn = new CountDownLatch(concurrency);
+        CountDownLatch go = new CountDownLatch(1);
+        for (int i = 0; i < concurrency; i++) {
+            long seed = i;
+            workers.execute(() -> work(new SplittableRandom(seed), loggedIn, go));
+        }
+
+        // Logins hash passwords, so they finish before the clock starts instead of skewing the first levels
+        loggedIn.await();
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        end = warmupEnd + duration.toNanos();
+        go.countDown();
+
+        sleepUntil(warmupEnd);
+        endpoints.values().forEach(Endpoint::reset);
+        Instant measuredFrom = Instant.now();
+        sleepUntil(end);
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        endpoints.forEach((name, endpoint) -> histograms.put(name, endpoint.latencies.getIntervalHistogram()));
+        double seconds = Duration.between(measuredFrom, Instant.now()).toMillis() / 1000.0;
+
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        if (failedLogins.sum() == concurrency) {
+            throw new IllegalStateException("No worker could log in; was the database seeded with matching "
+                    + "--users/--managers and is the application using it?");
+        }
+        return report(measuredFrom, seconds, histograms);
+    }
+
+    private void work(SplittableRandom random, CountDownLatch loggedIn, CountDownLatch go) {
+        Session user;
+        Session manager;
+        try {
+            user = login("lt-u-" + random.nextInt(userAccounts));
+            manager = login("lt-m-" + random.nextInt(managerAccounts));
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Login failed: " + e.getMessage());
+            failedLogins.increment();
+            return;
+        } finally {
+            loggedIn.countDown();
+        }
+        try {
+            go.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        while (System.nanoTime() < end) {
+            String name = weighted.get(random.nextInt(weighted.size()));
+            Session session = name.equals("users") || random.nextDouble() < managerShare ? manager : user;
+            Endpoint endpoint = endpoints.get(name);
+            long start = System.nanoTime();
+            try {
+                int status = session.send(request(name, random)).statusCode();
+                if (status >= 400) {
+                    endpoint.errors.increment();
+                    continue;
+                }
+            } catch (IOException e) {
+                endpoint.errors.increment();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            endpoint.latencies.recordValue(Math.max(1, (System.nanoTime() - start) / 1000));
+        }
+    }
+
+    private HttpRequest.Builder request(String name, SplittableRandom random) {
+        return switch (name) {
+            case "list" -> HttpRequest.newBuilder(baseUrl.resolve("/api/tasks?limit=" + pageSize)).GET();
+            case "export" -> HttpRequest.newBuilder(baseUrl.resolve("/api/tasks/export")).GET();
+            case "users" -> HttpRequest.newBuilder(baseUrl.resolve("/api/users")).GET();
+            case "create" -> HttpRequest.newBuilder(baseUrl.resolve("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load driver task " + random.nextInt()
+                            + "\",\"description\":\"Created by the load driver\",\"priority\":\"P2\"}"));
+            default -> throw new IllegalStateException(name);
+        };
+    }
+
+    private Session login(String username) throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password="
+                + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(baseUrl.resolve("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .timeout(timeout)
+                .build(), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IOException("Login as " + username + " failed with " + response.statusCode() + " " + location);
+        }
+        String cookie = response.headers().firstValue("Set-Cookie")
+                .map(header -> header.split(";", 2)[0])
+                .orElseThrow(() -> new IOException("Login as " + username + " returned no session cookie"));
+        return new Session(client, cookie, timeout);
+    }
+
+    private LoadReport report(Instant measuredFrom, double seconds, Map<String, Histogram> histograms) {
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        histograms.forEach((name, histogram) -> {
+            EndpointResult result = EndpointResult.of(histogram, endpoints.get(name).errors.sum(), seconds);
+            results.put(name, result);
+            System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, result.requests(),
+                    result.errors(), result.throughputPerSecond(), result.p50Ms(), result.p95Ms(), result.p99Ms(),
+                    result.maxMs());
+        });
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            all.add(entry.getValue());
+            errors += endpoints.get(entry.getKey()).errors.sum();
+        }
+        EndpointResult overall = EndpointResult.of(all, errors, seconds);
+        System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", "all", overall.requests(),
+                overall.errors(), overall.throughputPerSecond(), overall.p50Ms(), overall.p95Ms(), overall.p99Ms(),
+                overall.maxMs());
+
+        return new LoadReport(baseUrl.toString(), measuredFrom.toString(), seconds, concurrency, failedLogins.sum(),
+                mix, overall, results);
+    }
+
+    private void writeReport(LoadReport loadReport) throws IOException {
+        File parent = report.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, loadReport);
+        System.out.println("\nReport written to " + report.getPath());
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static final class Endpoint {
+        final Recorder latencies = new Recorder(3);
+        final LongAdder errors = new LongAdder();
+
+        void reset() {
+            latencies.reset();
+            errors.reset();
+        }
+    }
+
+    private record Session(HttpClient client, String cookie, Duration timeout) {
+        HttpResponse<Void> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            return client.send(request.header("Cookie", cookie).timeout(timeout).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    record LoadReport(String baseUrl, String measuredFrom, double measuredSeconds, int concurrency,
+            long failedLogins, Map<String, Integer> mix, EndpointResult overall,
+            Map<String, EndpointResult> endpoints) {
+    }
+
+    record EndpointResult(long requests, long errors, double throughputPerSecond, double meanMs, double p50Ms,
+            double p95Ms, double p99Ms, double maxMs) {
+
+        static EndpointResult of(Histogram micros, long errors, double seconds) {
+            return new EndpointResult(micros.getTotalCount(), errors, micros.getTotalCount() / seconds,
+                    micros.getMean() / 1000.0, micros.getValueAtPercentile(50) / 1000.0,
+                    micros.getValueAtPercentile(95) / 1000.0, micros.getValueAtPercentile(99) / 1000.0,
+                    micros.getMaxValue() / 1000.0);
+        }
+    }
+}
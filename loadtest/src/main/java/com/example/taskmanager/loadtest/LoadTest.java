@@ -0,0 +1,47 @@
+package com.example.taskmanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of loadtest.jar.
+ *
+ * <pre>
+ * java -jar loadtest.jar seed --jdbc-url=... [--users=10000 --managers=500 --tasks=2000000]
+ * java -jar loadtest.jar run  --base-url=http://localhost:8080 [--concurrency=32 --duration=2m]
+ * java -jar loadtest.jar capacity --label=virtual [--levels=16,32,...,1024 --step=30s --slo-p99=500ms]
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+        Options options = Options.parse(Arrays.copyOfRange(args, 1, args.length));
+        switch (args[0]) {
+            case "seed" -> new DataGenerator(options).run();
+            case "run" -> new LoadDriver(options).run();
+            case "capacity" -> new CapacityProbe(options).run();
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void usage() {
+        System.err.println("""
+                Usage: java -jar loadtest.jar <seed|run|capacity> [--option=value ...]
+
+                seed  --jdbc-url --db-user --db-password --users --managers --tasks --batch-size --seed
+                run   --base-url --concurrency --duration --warmup --mix --page-size --manager-share
+                      --users --managers --password --timeout --report
+                capacity  --label --levels --step --slo-p99 --max-error-rate --stop-on-failure --report
+                          plus every run option except --concurrency and --duration
+                """);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.taskmanager.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal {@code --key=value} command line options.
+ */
+final class Options {
+
+    private final Map<String, String> values;
+
+    private Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new Options(values);
+    }
+
+    // Copy with one option replaced
+    Options with(String key, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put(key, value);
+        return new Options(copy);
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int integer(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    long longValue(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    double decimal(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    // Accepts 500ms, 30s, 5m, 1h or an ISO-8601 duration
+    Duration duration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration " + value);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Read-only task API on WebFlux and R2DBC. It runs next to the servlet
+ * application against the same database and serves the task list, search and
+ * export as NDJSON streams, so slow clients hold a connection but no thread.
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanager.reactive;
+
+import com.example.taskmanager.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Stateless authentication with the servlet application's signed tokens. The
+ * API is read-only, so there is no login, session or CSRF token here.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Value("${taskmanager.auth.token.cookie-name:TM_TOKEN}")
+    private String tokenCookieName;
+
+    @Bean
+    public TokenService tokenService(@Value("${taskmanager.auth.token.secret:}") String secret,
+            @Value("${taskmanager.auth.token.ttl:8h}") Duration ttl) {
+        return new TokenService(secret, ttl);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenService tokenService) {
+        // The converter already verified the token, so the manager has nothing left to check
+        AuthenticationWebFilter tokenFilter = new AuthenticationWebFilter((ReactiveAuthenticationManager) Mono::just);
+        tokenFilter.setServerAuthenticationConverter(exchange -> Mono.justOrEmpty(resolveToken(exchange))
+                .mapNotNull(tokenService::verify)
+                .map(claims -> UsernamePasswordAuthenticationToken.authenticated(
+                        claims.username(), null, claims.authorities())));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(tokenFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .exceptionHandling(handling -> handling
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .build();
+    }
+
+    private String resolveToken(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(tokenCookieName);
+        return cookie != null ? cookie.getValue() : null;
+    }
+}
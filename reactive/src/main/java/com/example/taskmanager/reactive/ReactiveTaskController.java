@@ -0,0 +1,69 @@
+package com.example.taskmanager.reactive;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.service.TaskSearchService;
+import com.example.taskmanager.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+// Each endpoint writes one JSON task per line as rows arrive, at the pace the client reads them
+@RestController
+@RequestMapping(value = "/api/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+public class ReactiveTaskController {
+
+    // The servlet list pages at TaskService.MAX_PAGE_SIZE; a stream can carry more rows per request
+    public static final int MAX_LIST_LIMIT = 10_000;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @GetMapping
+    public Flux<TaskView> getTasks(TaskFilter filter, @RequestParam(defaultValue = "100") int limit,
+            Principal principal) {
+        if (limit < 1 || limit > MAX_LIST_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_LIST_LIMIT);
+        }
+        return viewer(principal).flatMapMany(user -> taskRepository.findViews(user, filter, limit));
+    }
+
+    @GetMapping("/search")
+    public Flux<TaskView> searchTasks(@RequestParam String q, @RequestParam(defaultValue = "20") int limit,
+            Principal principal) {
+        if (q.isBlank() || q.length() > TaskSearchService.MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must be between 1 and " + TaskSearchService.MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > TaskService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + TaskService.MAX_PAGE_SIZE);
+        }
+        return viewer(principal).flatMapMany(user -> taskRepository.search(user, q, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<TaskView>> exportTasks(Principal principal) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                .body(viewer(principal).flatMapMany(taskRepository::streamViews));
+    }
+
+    private Mono<User> viewer(Principal principal) {
+        return taskRepository.findUser(principal.getName())
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED)));
+    }
+}
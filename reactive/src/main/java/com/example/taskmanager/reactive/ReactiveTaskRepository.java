@@ -0,0 +1,178 @@
+package com.example.taskmanager.reactive;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskSql;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Task reads over R2DBC. Rows have the same shape as the servlet application's
+ * TaskViewRepository and are filtered by the same visibility SQL (TaskSql). On
+ * PostgreSQL rows are fetched a batch at a time as the subscriber asks for them,
+ * so a slow client holds back the query instead of buffering its result.
+ */
+@Repository
+public class ReactiveTaskRepository {
+
+    // Enum columns are cast so every driver returns them as text; string parameters are cast because
+    // r2dbc-h2 binds them as CLOB, which H2 does not compare with ENUM columns
+    private static final String VIEW_SELECT = "SELECT t.id, t.title, t.description,"
+            + " CAST(t.status AS VARCHAR(16)) AS status, CAST(t.priority AS VARCHAR(16)) AS priority, t.created_date,"
+            + " t.assigned_user_id, au.username AS assigned_username, t.create_user_id, cu.username AS create_username"
+            + " FROM tasks t LEFT JOIN users au ON au.id = t.assigned_user_id"
+            + " LEFT JOIN users cu ON cu.id = t.create_user_id";
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Value("${taskmanager.reactive.fetch-size:250}")
+    private int fetchSize = 250;
+
+    public Mono<User> findUser(String username) {
+        return databaseClient.sql("SELECT id, username, CAST(role AS VARCHAR(16)) AS role FROM users "
+                        + "WHERE username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> {
+                    User user = new User();
+                    user.setId(row.get("id", Long.class));
+                    user.setUsername(row.get("username", String.class));
+                    user.setRole(Role.valueOf(row.get("role", String.class)));
+                    return user;
+                })
+                .one();
+    }
+
+    // Newest first, like the servlet task list
+    public Flux<TaskView> findViews(User user, TaskFilter filter, int limit) {
+        Select select = new Select(user, "");
+        if (filter.getStatus() != null) {
+            select.where("t.status = CAST(:status AS VARCHAR(16))").bind("status", filter.getStatus().name());
+        }
+        if (filter.getPriority() != null) {
+            select.where("t.priority = CAST(:priority AS VARCHAR(16))").bind("priority", filter.getPriority().name());
+        }
+        if (filter.getAssignedUserId() != null) {
+            select.where("t.assigned_user_id = :assignedUserId").bind("assignedUserId", filter.getAssignedUserId());
+        }
+        if (filter.getCreatedFrom() != null) {
+            select.where("t.created_date >= :createdFrom").bind("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            select.where("t.created_date < :createdTo").bind("createdTo", filter.getCreatedTo());
+        }
+        return select.bind("limit", limit).fetch("t.created_date DESC, t.id DESC LIMIT :limit");
+    }
+
+    // Every visible task in id order, like the servlet CSV export
+    public Flux<TaskView> streamViews(User user) {
+        return new Select(user, "").fetch("t.id");
+    }
+
+    /**
+     * On PostgreSQL matched and ranked through the tsvector column. Elsewhere
+     * every query term has to occur in the title or description, newest first.
+     */
+    public Flux<TaskView> search(User user, String query, int limit) {
+        if (isFullText()) {
+            return new Select(user, ", " + TaskSql.SEARCH_QUERY)
+                    .where(TaskSql.SEARCH_MATCH)
+                    .bind("query", query)
+                    .bind("limit", limit)
+                    .fetch(TaskSql.SEARCH_ORDER + " LIMIT :limit");
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return Flux.empty();
+        }
+        Select select = new Select(user, "");
+        int i = 0;
+        for (String term : terms) {
+            String name = "term" + i++;
+            // Terms are letters and digits only, so they carry no LIKE wildcards
+            select.where("(LOWER(t.title) LIKE CAST(:" + name + " AS VARCHAR(255))"
+                    + " OR LOWER(t.description) LIKE CAST(:" + name + " AS VARCHAR(255)))")
+                    .bind(name, "%" + term + "%");
+        }
+        return select.bind("limit", limit).fetch("t.created_date DESC, t.id DESC LIMIT :limit");
+    }
+
+    boolean isFullText() {
+        return "PostgreSQL".equals(connectionFactory.getMetadata().getName());
+    }
+
+    private static TaskView toView(Row row) {
+        String status = row.get("status", String.class);
+        String priority = row.get("priority", String.class);
+        return new TaskView(row.get("id", Long.class), row.get("title", String.class),
+                row.get("description", String.class), status != null ? TaskStatus.valueOf(status) : null,
+                priority != null ? Priority.valueOf(priority) : null, row.get("created_date", LocalDateTime.class),
+                row.get("assigned_user_id", Long.class), row.get("assigned_username", String.class),
+                row.get("create_user_id", Long.class), row.get("create_username", String.class));
+    }
+
+    private final class Select {
+
+        private final StringBuilder sql;
+
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        private String separator = " WHERE ";
+
+        Select(User user, String from) {
+            this.sql = new StringBuilder(VIEW_SELECT).append(from);
+            String visibility = TaskSql.visibleTo(user.getRole());
+            if (visibility != null) {
+                where(visibility).bind("userId", user.getId());
+            }
+        }
+
+        Select where(String condition) {
+            sql.append(separator).append(condition);
+            separator = " AND ";
+            return this;
+        }
+
+        Select bind(String name, Object value) {
+            parameters.put(name, value);
+            return this;
+        }
+
+        Flux<TaskView> fetch(String orderBy) {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql + " ORDER BY " + orderBy)
+                    .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+            for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            }
+            return spec.map((row, metadata) -> toView(row)).all();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.taskmanager.reactive;
+
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.security.TokenService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "taskmanager.auth.token.secret=reactive-test-secret-0123456789abcdef"})
+class ReactiveTaskControllerTest {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // The schema comes from the servlet application's migrations, as in production
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        Flyway.configure().dataSource(JDBC_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, password, role, manager_id) VALUES "
+                    + "(101, 'rx-admin', 'x', 'ADMIN', NULL), (102, 'rx-manager', 'x', 'MANAGER', NULL), "
+                    + "(103, 'rx-alice', 'x', 'USER', 102), (104, 'rx-bob', 'x', 'USER', NULL)");
+            statement.execute("INSERT INTO tasks (id, title, description, status, priority, assigned_user_id, "
+                    + "create_user_id, created_date) VALUES "
+                    + "(10, 'Alice report', 'Quarterly numbers', 'PENDING', 'P1', NULL, 103, '2024-01-01 10:00:00'), "
+                    + "(11, 'Bob report', 'Needs review', 'APPROVED', NULL, 103, 104, '2024-01-02 10:00:00'), "
+                    + "(12, 'Bob budget', 'Travel', 'PENDING', 'P2', NULL, 104, '2024-01-03 10:00:00'), "
+                    + "(13, 'Manager note', NULL, 'REJECTED', 'P0', NULL, 102, '2024-01-04 10:00:00')");
+        }
+    }
+
+    @Test
+    void userStreamsOwnAndAssignedTasksNewestFirst() {
+        List<TaskView> tasks = get("rx-alice", "USER", "/api/tasks");
+
+        assertEquals(List.of(11L, 10L), ids(tasks));
+        assertEquals("rx-alice", tasks.get(0).getAssignedUser().getUsername());
+        assertEquals("rx-bob", tasks.get(0).getCreateUser().getUsername());
+    }
+
+    @Test
+    void managerStreamsTeamTasks() {
+        assertEquals(List.of(13L, 10L), ids(get("rx-manager", "MANAGER", "/api/tasks")));
+    }
+
+    @Test
+    void filterAndLimitApply() {
+        assertEquals(List.of(12L, 10L), ids(get("rx-admin", "ADMIN", "/api/tasks?status=PENDING")));
+        assertEquals(List.of(13L), ids(get("rx-admin", "ADMIN", "/api/tasks?limit=1")));
+    }
+
+    @Test
+    void searchMatchesEveryTermWithinVisibleTasks() {
+        assertEquals(List.of(11L), ids(get("rx-admin", "ADMIN", "/api/tasks/search?q=bob report")));
+        assertEquals(List.of(11L, 10L), ids(get("rx-alice", "USER", "/api/tasks/search?q=report")));
+        assertEquals(List.of(), ids(get("rx-alice", "USER", "/api/tasks/search?q=budget")));
+    }
+
+    @Test
+    void exportStreamsVisibleTasksInIdOrder() {
+        List<TaskView> tasks = client.get().uri("/api/tasks/export")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("rx-bob", "USER"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                .returnResult(TaskView.class).getResponseBody().collectList().block();
+
+        assertEquals(List.of(11L, 12L), ids(tasks));
+    }
+
+    @Test
+    void tokenIsRequired() {
+        client.get().uri("/api/tasks").exchange().expectStatus().isUnauthorized();
+        client.get().uri("/api/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void invalidLimitIsRejected() {
+        client.get().uri("/api/tasks?limit=0")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("rx-admin", "ADMIN"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private List<TaskView> get(String username, String role, String uri) {
+        return client.get().uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(username, role))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskView.class).getResponseBody().collectList().block();
+    }
+
+    private String token(String username, String role) {
+        return tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_" + role)));
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::getId).toList();
+    }
+}
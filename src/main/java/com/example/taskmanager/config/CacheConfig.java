@@ -0,0 +1,74 @@
+package com.example.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Immutable snapshots of authenticated users keyed by username; see UserService.getUserByUsername
+    public static final String PRINCIPALS = "principals";
+
+    // Hibernate second-level cache region of the User entity
+    public static final String USERS_REGION = "users";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${taskmanager.cache.principals.max-size:10000}") long maxSize,
+            @Value("${taskmanager.cache.principals.ttl:5m}") Duration ttl) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(PRINCIPALS);
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        caffeine.setAllowNullValues(false);
+        // Evictions issued inside a transaction only apply after commit, so a concurrent
+        // request cannot re-cache the row we are about to change
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+
+    /**
+     * JCache manager for the Hibernate second-level cache, separate from the
+     * Spring caches above. Regions are created here so they are bounded; the TTL
+     * also caps staleness should a cross-node invalidation be missed.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(
+            @Value("${taskmanager.cache.users.max-size:10000}") long maxSize,
+            @Value("${taskmanager.cache.users.ttl:10m}") Duration ttl) {
+        javax.cache.CacheManager manager = new CaffeineCachingProvider().getCacheManager();
+        manager.createCache(USERS_REGION, bounded(maxSize, ttl));
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(maxSize, ttl));
+        // Must outlive every cached query result, so neither bounded nor expired
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
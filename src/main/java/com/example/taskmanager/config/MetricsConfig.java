@@ -0,0 +1,33 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.entity.OutboxStatus;
+import com.example.taskmanager.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application gauges that are sampled on scrape rather than updated inline.
+ * Hikari, Hibernate and cache metrics are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Pending is the queue depth to alert on; dead letters need a human
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutboxRepository outboxRepository) {
+        return registry -> {
+            Gauge.builder("taskmanager.mail.outbox.size", outboxRepository,
+                    repository -> repository.countByStatus(OutboxStatus.PENDING))
+                    .tag("status", "pending")
+                    .description("Outbox messages waiting to be sent")
+                    .register(registry);
+            Gauge.builder("taskmanager.mail.outbox.size", outboxRepository,
+                    repository -> repository.countByStatus(OutboxStatus.DEAD))
+                    .tag("status", "dead")
+                    .description("Outbox messages that exhausted their retries")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica pool when
+ * taskmanager.datasource.replica.url is set. The lazy proxy only fetches a
+ * physical connection at the first statement, after the transaction manager has
+ * marked the connection read-only, and picks the pool from that flag. Flyway,
+ * writes and non-transactional reads keep using the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("taskmanager.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${taskmanager.datasource.replica.url}") String url,
+            @Value("${taskmanager.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${taskmanager.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    RecentWriters recentWriters(@Value("${taskmanager.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new RecentWriters(maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+            RecentWriters recentWriters) {
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            // Right after the user's own write the replica may not have it yet
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return recentWriters.currentUserWroteRecently() ? "primary" : "replica";
+            }
+        };
+        readOnly.setTargetDataSources(Map.of("primary", primaryDataSource, "replica", replicaDataSource));
+        readOnly.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
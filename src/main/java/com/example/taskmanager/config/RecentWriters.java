@@ -0,0 +1,116 @@
+package com.example.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Users who committed a read-write transaction within the replica's allowed lag.
+ * Their read-only transactions stay on the primary, so a user always reads their
+ * own writes. The commit time travels with the client in a cookie that expires
+ * after the lag, so the next request can land on any node, as in token mode.
+ * Clients that drop cookies fall back to this node's own record of the writer.
+ */
+class RecentWriters implements TransactionExecutionListener {
+
+    static final String COOKIE = "TM_LAST_WRITE";
+
+    // Marks a request whose response already carries the cookie
+    private static final String COOKIE_SET = RecentWriters.class.getName() + ".COOKIE_SET";
+
+    private final Duration maxLag;
+
+    private final Cache<String, Boolean> writers;
+
+    RecentWriters(Duration maxLag) {
+        this.maxLag = maxLag;
+        this.writers = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        String username = currentUsername();
+        if (username != null) {
+            writers.put(username, Boolean.TRUE);
+        }
+        setCookie(System.currentTimeMillis());
+    }
+
+    boolean currentUserWroteRecently() {
+        // Either way round, since the node that wrote may run a slightly different clock
+        Long lastWrite = cookieValue();
+        if (lastWrite != null && Math.abs(System.currentTimeMillis() - lastWrite) < maxLag.toMillis()) {
+            return true;
+        }
+        String username = currentUsername();
+        return username != null && writers.getIfPresent(username) != null;
+    }
+
+    // Only for writes inside a servlet request whose response has not been sent yet
+    private void setCookie(long commitMillis) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null
+                || attributes.getAttribute(COOKIE_SET, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response.isCommitted()) {
+            return;
+        }
+        String cookie = ResponseCookie.from(COOKIE, Long.toString(commitMillis))
+                .path("/")
+                .httpOnly(true)
+                .secure(attributes.getRequest().isSecure())
+                .sameSite("Lax")
+                .maxAge(Duration.ofSeconds(Math.max(1, (maxLag.toMillis() + 999) / 1000)))
+                .build()
+                .toString();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie);
+        attributes.setAttribute(COOKIE_SET, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private static Long cookieValue() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.valueOf(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.taskmanager.config;
 
+import com.example.taskmanager.security.TokenAuthenticationFilter;
+import com.example.taskmanager.security.TokenService;
 import com.example.taskmanager.service.UserService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Value("${taskmanager.auth.token.cookie-name:TM_TOKEN}")
+    private String tokenCookieName;
+
+    @Value("${taskmanager.auth.token.cookie-secure:false}")
+    private boolean tokenCookieSecure;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectProvider<TokenService> tokenServices)
+            throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .anonymous(AbstractHttpConfigurer::disable)
@@ -26,6 +44,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/login", "/api/auth/me", "/public/**", "/", "/index.html", "/css/**",
                                 "/js/**")
                         .permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/tasks/*/approve").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers("/api/users/**").hasAnyRole("ADMIN", "MANAGER")
                         .anyRequest().authenticated())
@@ -38,9 +58,45 @@ public class SecurityConfig {
                         .logoutSuccessUrl("/")
                         .permitAll());
 
+        TokenService tokenService = tokenServices.getIfAvailable();
+        if (tokenService != null) {
+            configureTokenMode(http, tokenService);
+        }
+
         return http.build();
     }
 
+    // Stateless mode: no HTTP session, identity travels in a signed token verified on every request
+    private void configureTokenMode(HttpSecurity http, TokenService tokenService) throws Exception {
+        http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, tokenCookieName),
+                        UsernamePasswordAuthenticationFilter.class)
+                .formLogin(form -> form
+                        .successHandler((request, response, authentication) -> {
+                            String token = tokenService.issue(authentication);
+                            response.addHeader(HttpHeaders.SET_COOKIE, tokenCookie(token, tokenService.getTtl()));
+                            response.setHeader("X-Auth-Token", token);
+                            response.sendRedirect(request.getContextPath() + "/");
+                        }))
+                .logout(logout -> logout
+                        .addLogoutHandler((request, response, authentication) -> response
+                                .addHeader(HttpHeaders.SET_COOKIE, tokenCookie("", Duration.ZERO))));
+    }
+
+    private String tokenCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(tokenCookieName, value)
+                .httpOnly(true)
+                .secure(tokenCookieSecure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build()
+                .toString();
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,33 @@
+package com.example.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports the threading model at startup. Spring Boot silently keeps platform
+ * thread pools when virtual threads are requested on a runtime older than Java 21.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingModel() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreads && javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled=true needs Java 21 but this is Java {}; using platform threads",
+                    javaVersion);
+        } else {
+            log.info("Requests, email dispatch, task events and background jobs run on {} threads",
+                    virtualThreads ? "virtual" : "platform");
+        }
+    }
+}
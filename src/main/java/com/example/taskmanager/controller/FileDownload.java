@@ -0,0 +1,107 @@
+package com.example.taskmanager.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends a file as the response body, honouring a single byte range so that an
+ * interrupted download can resume. Where the connector supports it the file is
+ * handed to Tomcat, which sends it with sendfile after the handler returns;
+ * otherwise FileChannel.transferTo copies it. Neither path moves the bytes
+ * through the heap.
+ */
+final class FileDownload {
+
+    // Request attributes of Tomcat's sendfile support (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileDownload() {
+    }
+
+    /**
+     * The etag must change whenever the file content does: a client resuming with
+     * If-Range gets the whole file again if it no longer matches.
+     */
+    static void send(Path file, String etag, String contentType, String fileName, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        long start = 0;
+        long end = length;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position < end; ) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    throw new EOFException("File " + file + " ended at " + position + " of " + end);
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // Malformed, multiple or stale (If-Range) ranges are ignored, which means sending the whole file
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.dto.BulkOutcome;
+import com.example.taskmanager.dto.BulkStatusRequest;
+import com.example.taskmanager.dto.ExportFormat;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPage;
+import com.example.taskmanager.dto.TaskStats;
+import com.example.taskmanager.dto.TaskView;
 import com.example.taskmanager.entity.Task;
 import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.service.TaskCounterService;
+import com.example.taskmanager.service.TaskEventService;
+import com.example.taskmanager.service.TaskSearchService;
 import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.TaskVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +30,18 @@ public class TaskController {
     @Autowired
     private com.example.taskmanager.service.UserService userService;
 
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
     @PostMapping
     public Task createTask(@RequestBody Task task) {
         String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
@@ -27,15 +50,68 @@ public class TaskController {
         return taskService.createTask(task, user);
     }
 
+    @PostMapping("/batch")
+    public List<TaskView> createTasks(@RequestBody List<Task> tasks) {
+        String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
+                .getAuthentication().getName();
+        com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
+        return taskService.createTasks(tasks, user).stream().map(TaskView::of).toList();
+    }
+
     @GetMapping
-    public org.springframework.http.ResponseEntity<List<Task>> getAllTasks() {
+    public org.springframework.http.ResponseEntity<TaskPage<TaskView>> getAllTasks(TaskFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            org.springframework.web.context.request.WebRequest request) {
         String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
                 .getAuthentication().getName();
         com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
 
+        // Revalidation is answered from the scope version alone, without querying tasks
+        String etag = taskVersionService.etag(user, filter, cursor, limit);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+
         return org.springframework.http.ResponseEntity.ok()
                 .cacheControl(org.springframework.http.CacheControl.noCache().mustRevalidate())
-                .body(taskService.getAllTasks(user));
+                .body(taskService.getTasksPage(user, filter, cursor, limit));
+    }
+
+    // Counts by status and priority over the caller's visible tasks, read from the counter table
+    @GetMapping("/stats")
+    public org.springframework.http.ResponseEntity<TaskStats> getTaskStats(
+            org.springframework.web.context.request.WebRequest request) {
+        String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
+                .getAuthentication().getName();
+        com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
+
+        String etag = taskVersionService.etag(user, "stats");
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return org.springframework.http.ResponseEntity.ok()
+                .cacheControl(org.springframework.http.CacheControl.noCache().mustRevalidate())
+                .body(taskCounterService.getStats(user));
+    }
+
+    // Ranked by relevance; visibility follows the same rules as the task list
+    @GetMapping("/search")
+    public TaskPage<TaskView> searchTasks(@RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
+                .getAuthentication().getName();
+        com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
+        return taskSearchService.search(user, q, cursor, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE)
+    public org.springframework.web.servlet.mvc.method.annotation.SseEmitter streamTaskChanges() {
+        String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
+                .getAuthentication().getName();
+        com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
+        return taskEventService.subscribe(user);
     }
 
     @PutMapping("/{id}/approve")
@@ -45,6 +121,15 @@ public class TaskController {
         return taskService.updateTaskStatus(id, status);
     }
 
+    // Matches /api/tasks/*/approve, so the same MANAGER/ADMIN restriction applies
+    @PutMapping("/bulk/approve")
+    public Map<Long, BulkOutcome> approveTasks(@RequestBody BulkStatusRequest request) {
+        String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
+                .getAuthentication().getName();
+        com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
+        return taskService.updateTaskStatuses(request.getIds(), request.getStatus(), user);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteTask(@PathVariable Long id) {
         String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
@@ -53,14 +138,63 @@ public class TaskController {
         taskService.deleteTask(id, user);
     }
 
+    // Format from the format parameter (csv, csv.gz, ndjson, arrow) or else the Accept header; CSV by default
     @GetMapping("/export")
-    public void exportTasks(jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
-        response.setContentType("text/csv; charset=UTF-8");
-        response.setCharacterEncoding("UTF-8");
-        response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv\"");
+    public void exportTasks(@RequestParam(defaultValue = "false") boolean includeHistory,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = org.springframework.http.HttpHeaders.ACCEPT, required = false) String accept,
+            jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+        ExportFormat exportFormat = exportFormat(format, accept);
+        if (exportFormat == ExportFormat.CSV) {
+            response.setContentType("text/csv; charset=UTF-8");
+            response.setCharacterEncoding("UTF-8");
+        } else {
+            response.setContentType(exportFormat.getMediaType());
+        }
+        response.setHeader(org.springframework.http.HttpHeaders.VARY, org.springframework.http.HttpHeaders.ACCEPT);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + exportFormat.getFileName() + "\"");
         String username = org.springframework.security.core.context.SecurityContextHolder.getContext()
                 .getAuthentication().getName();
         com.example.taskmanager.entity.User user = userService.getUserByUsername(username);
-        taskService.exportTasksToCsv(response.getWriter(), user);
+        taskService.exportTasks(response.getOutputStream(), user, includeHistory, exportFormat);
+    }
+
+    private static ExportFormat exportFormat(String format, String accept) {
+        if (format != null) {
+            ExportFormat requested = ExportFormat.fromParameter(format);
+            if (requested == null) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+            }
+            return requested;
+        }
+        if (accept == null || accept.isBlank()) {
+            return ExportFormat.CSV;
+        }
+        List<org.springframework.http.MediaType> accepted;
+        try {
+            accepted = new java.util.ArrayList<>(org.springframework.http.MediaType.parseMediaTypes(accept));
+        } catch (org.springframework.http.InvalidMediaTypeException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "Invalid Accept header");
+        }
+        // Highest quality first; the sort is stable, so equal qualities keep the client's order
+        accepted.sort(java.util.Comparator.comparingDouble(org.springframework.http.MediaType::getQualityValue)
+                .reversed());
+        for (org.springframework.http.MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            // Wildcards resolve in declaration order, so */* still means CSV
+            for (ExportFormat candidate : ExportFormat.values()) {
+                if (type.includes(org.springframework.http.MediaType.parseMediaType(candidate.getMediaType()))) {
+                    return candidate;
+                }
+            }
+        }
+        throw new org.springframework.web.server.ResponseStatusException(
+                org.springframework.http.HttpStatus.NOT_ACCEPTABLE,
+                "Export is available as text/csv, application/gzip, application/x-ndjson or "
+                        + "application/vnd.apache.arrow.stream");
     }
 }
@@ -0,0 +1,53 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.ExportJobStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.service.TaskExportService;
+import com.example.taskmanager.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Background CSV exports: submit a job, poll it until it is COMPLETED, then
+ * download the gzip file, resuming with a Range request if the transfer breaks.
+ */
+@RestController
+@RequestMapping("/api/tasks/exports")
+public class TaskExportController {
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<ExportJobStatus> submitExport(@RequestParam(defaultValue = "false") boolean includeHistory) {
+        ExportJobStatus job = taskExportService.submit(currentUser(), includeHistory);
+        return ResponseEntity.accepted().location(URI.create("/api/tasks/exports/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ExportJobStatus getExport(@PathVariable String id) {
+        return taskExportService.getStatus(id, currentUser());
+    }
+
+    // A finished export never changes, so its id serves as the ETag for If-Range
+    @GetMapping("/{id}/download")
+    public void downloadExport(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        FileDownload.send(taskExportService.getFile(id, currentUser()), "\"" + id + "\"",
+                TaskExportService.CONTENT_TYPE, TaskExportService.FILE_NAME, request, response);
+    }
+
+    private User currentUser() {
+        return userService.getUserByUsername(SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.dto.OffboardingJobStatus;
 import com.example.taskmanager.entity.User;
+import com.example.taskmanager.service.UserOffboardingService;
 import com.example.taskmanager.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -15,6 +19,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserOffboardingService userOffboardingService;
+
     private User getCurrentUser() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return userService.getUserByUsername(username);
@@ -39,4 +46,16 @@ public class UserController {
     public void deleteUser(@PathVariable Long id) {
         userService.deleteUser(id, getCurrentUser());
     }
+
+    // For users who still have tasks: hands them to reassignTo in the background, then deletes the user
+    @PostMapping("/{id}/offboarding")
+    public ResponseEntity<OffboardingJobStatus> offboardUser(@PathVariable Long id, @RequestParam Long reassignTo) {
+        OffboardingJobStatus job = userOffboardingService.submit(id, reassignTo, getCurrentUser());
+        return ResponseEntity.accepted().location(URI.create("/api/users/offboarding/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/offboarding/{jobId}")
+    public OffboardingJobStatus getOffboarding(@PathVariable String jobId) {
+        return userOffboardingService.getStatus(jobId, getCurrentUser());
+    }
 }
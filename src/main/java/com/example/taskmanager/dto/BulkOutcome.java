@@ -0,0 +1,8 @@
+package com.example.taskmanager.dto;
+
+public enum BulkOutcome {
+    UPDATED,
+    UNCHANGED,
+    // Task does not exist or is outside the caller's visibility
+    NOT_FOUND
+}
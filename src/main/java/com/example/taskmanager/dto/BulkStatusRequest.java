@@ -0,0 +1,13 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    private List<Long> ids;
+
+    private TaskStatus status;
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.dto;
+
+import java.util.Locale;
+
+/**
+ * Formats of the synchronous task export, selected with the format parameter
+ * or the Accept header. CSV stays the default for spreadsheet users; the others
+ * are meant for machine consumers.
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv", "tasks.csv"),
+
+    // The same CSV, deflated while it is written
+    CSV_GZIP("csv.gz", "application/gzip", "tasks.csv.gz"),
+
+    // One JSON object per line, in the shape of the task list API
+    NDJSON("ndjson", "application/x-ndjson", "tasks.ndjson"),
+
+    // Arrow IPC stream: typed columns in record batches
+    ARROW("arrow", "application/vnd.apache.arrow.stream", "tasks.arrows");
+
+    private final String parameter;
+
+    private final String mediaType;
+
+    private final String fileName;
+
+    ExportFormat(String parameter, String mediaType, String fileName) {
+        this.parameter = parameter;
+        this.mediaType = mediaType;
+        this.fileName = fileName;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public boolean isCompressed() {
+        return this == CSV_GZIP;
+    }
+
+    // Null when the value names no format
+    public static ExportFormat fromParameter(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.parameter.equals(normalized)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
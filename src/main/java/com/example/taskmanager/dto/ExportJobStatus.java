@@ -0,0 +1,31 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ExportJobStatus {
+
+    private String id;
+
+    private JobState state;
+
+    private boolean includeHistory;
+
+    // Rows written so far, against the number of visible tasks counted when the job started
+    private long rows;
+
+    private Long expectedRows;
+
+    // Size of the compressed file once COMPLETED
+    private Long size;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime completedDate;
+
+    private String error;
+}
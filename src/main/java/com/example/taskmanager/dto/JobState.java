@@ -0,0 +1,9 @@
+package com.example.taskmanager.dto;
+
+// Lifecycle of a background job, shared by task exports and user offboarding
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OffboardingJobStatus {
+
+    private String id;
+
+    private JobState state;
+
+    private Long userId;
+
+    private Long successorId;
+
+    // Tasks handed over so far, against the number assigned when the job started
+    private long tasks;
+
+    private Long expectedTasks;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime completedDate;
+
+    private String error;
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published after a task write commits and pushed to subscribed clients. The
+ * audience holds the ids of non-admin users whose visible set contains the task.
+ */
+@Data
+@AllArgsConstructor
+public class TaskChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Moved to the archive: gone from the live list, still part of history and the counts
+        ARCHIVED;
+
+        public boolean removesTask() {
+            return this == DELETED || this == ARCHIVED;
+        }
+    }
+
+    private Type type;
+
+    private Long id;
+
+    // Null for DELETED and ARCHIVED
+    private TaskView task;
+
+    @JsonIgnore
+    private Set<Long> audience;
+
+    // Status before the change: null for CREATED, the removed task's status for DELETED and ARCHIVED
+    @JsonIgnore
+    private TaskStatus previousStatus;
+
+    // Kept alongside task, which is null for DELETED and ARCHIVED
+    @JsonIgnore
+    private Priority priority;
+
+    /**
+     * A task is visible to its creator, its assignee and the creator's manager
+     * (see TaskSpecifications.visibleTo), plus every admin.
+     */
+    public static TaskChangeEvent of(Type type, TaskView view, Long creatorManagerId) {
+        return of(type, view, type.removesTask() ? view.getStatus() : null, creatorManagerId);
+    }
+
+    public static TaskChangeEvent of(Type type, TaskView view, TaskStatus previousStatus, Long creatorManagerId) {
+        Set<Long> audience = new HashSet<>(3);
+        if (view.getCreateUserId() != null) {
+            audience.add(view.getCreateUserId());
+        }
+        if (view.getAssignedUserId() != null) {
+            audience.add(view.getAssignedUserId());
+        }
+        if (creatorManagerId != null) {
+            audience.add(creatorManagerId);
+        }
+        return new TaskChangeEvent(type, view.getId(), type.removesTask() ? null : view, audience, previousStatus,
+                view.getPriority());
+    }
+}
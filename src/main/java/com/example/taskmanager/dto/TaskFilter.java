@@ -0,0 +1,27 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.TaskStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TaskFilter {
+    private TaskStatus status;
+
+    private Priority priority;
+
+    private Long assignedUserId;
+
+    // Inclusive lower / exclusive upper bound on createdDate (UTC)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // Also return tasks moved to the archive; by default only live tasks are read
+    private boolean includeHistory;
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskPage<T> {
+    private List<T> items;
+
+    // Opaque keyset cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
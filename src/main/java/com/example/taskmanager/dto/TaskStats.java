@@ -0,0 +1,25 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class TaskStats {
+
+    public enum Scope {
+        OWN,
+        TEAM,
+        GLOBAL
+    }
+
+    private Scope scope;
+
+    private long total;
+
+    // Status -> priority -> count, with every combination present; tasks without a priority are under NONE
+    private Map<TaskStatus, Map<String, Long>> counts;
+}
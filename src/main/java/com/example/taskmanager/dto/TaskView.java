@@ -0,0 +1,77 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for the task list and export: exactly the columns the UI and CSV
+ * need, loaded in a single statement instead of through the entity graph.
+ */
+@Data
+@NoArgsConstructor
+public class TaskView {
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private TaskStatus status;
+
+    private Priority priority;
+
+    private Long assignedUserId;
+
+    private Long createUserId;
+
+    private LocalDateTime createdDate;
+
+    private UserRef assignedUser;
+
+    private UserRef createUser;
+
+    // Constructor expression target used by TaskViewRepositoryImpl
+    public TaskView(Long id, String title, String description, TaskStatus status, Priority priority,
+            LocalDateTime createdDate, Long assignedUserId, String assignedUsername, Long createUserId,
+            String createUsername) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.createdDate = createdDate;
+        this.assignedUserId = assignedUserId;
+        this.createUserId = createUserId;
+        this.assignedUser = assignedUserId != null ? new UserRef(assignedUserId, assignedUsername) : null;
+        this.createUser = createUserId != null ? new UserRef(createUserId, createUsername) : null;
+    }
+
+    // For tasks whose user associations were populated in memory, e.g. right after creation
+    public static TaskView of(Task task) {
+        TaskView view = new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getCreatedDate(), task.getAssignedUserId(), null, task.getCreateUserId(),
+                null);
+        if (view.assignedUser != null && task.getAssignedUser() != null) {
+            view.assignedUser.setUsername(task.getAssignedUser().getUsername());
+        }
+        if (view.createUser != null && task.getCreateUser() != null) {
+            view.createUser.setUsername(task.getCreateUser().getUsername());
+        }
+        return view;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserRef {
+        private Long id;
+
+        private String username;
+    }
+}
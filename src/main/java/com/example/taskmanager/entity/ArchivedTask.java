@@ -0,0 +1,58 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed task moved out of the tasks table by TaskArchiver. The attributes
+ * match Task, so the task specifications and view query apply to it unchanged.
+ */
+@Entity
+@Data
+@Immutable
+@Table(name = "task_archive")
+public class ArchivedTask {
+    // Keeps the id the task had in the tasks table
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Column(name = "assigned_user_id")
+    private Long assignedUserId;
+
+    @Column(name = "create_user_id")
+    private Long createUserId;
+
+    @Column(name = "created_date")
+    private LocalDateTime createdDate;
+
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+
+    @ManyToOne
+    @JoinColumn(name = "assigned_user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User assignedUser;
+
+    @ManyToOne
+    @JoinColumn(name = "create_user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User createUser;
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Number of tasks with one status and priority in a visibility scope: a user's
+ * visible task set, or the global set (scope 0) that admins see. Kept current
+ * by TaskCounterService in the same transaction as the task write.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TaskCounter.Key.class)
+@Table(name = "task_counters")
+public class TaskCounter {
+
+    // Stands in for a null priority, which cannot be part of the key
+    public static final String NO_PRIORITY = "NONE";
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Id
+    private String status;
+
+    @Id
+    private String priority;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long scopeId;
+
+        private String status;
+
+        private String priority;
+    }
+}
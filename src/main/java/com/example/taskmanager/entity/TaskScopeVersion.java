@@ -0,0 +1,30 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter for one visibility scope: a user's visible task set, or the
+ * global set (scope 0) that admins see. Bumped after every task write that
+ * touches the scope.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_scope_versions")
+public class TaskScopeVersion {
+
+    public static final long GLOBAL_SCOPE = 0L;
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Column(nullable = false)
+    private long version;
+
+    public TaskScopeVersion(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+}
@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Cached in the second-level cache together with its manager reference; see UserCacheInvalidator
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_manager_id", columnList = "manager_id"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,26 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.EmailOutbox;
+import com.example.taskmanager.entity.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // SKIP LOCKED (lock timeout -2) lets several nodes drain the outbox without handing out the same row twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutbox m WHERE m.status = com.example.taskmanager.entity.OutboxStatus.PENDING AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.ArchivedTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskArchiveRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // SKIP LOCKED (lock timeout -2): several nodes can archive at once, and a task being edited is left for later
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t.id FROM Task t WHERE t.status IN (com.example.taskmanager.entity.TaskStatus.APPROVED, "
+            + "com.example.taskmanager.entity.TaskStatus.REJECTED) AND t.createdDate < :cutoff ORDER BY t.createdDate, t.id")
+    List<Long> lockClosedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Native statements name the table they write, or Hibernate clears every second-level cache region after them
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_archive"))
+    @Query(value = "INSERT INTO task_archive (id, title, description, status, priority, assigned_user_id, "
+            + "create_user_id, created_date, archived_date) SELECT id, title, description, status, priority, "
+            + "assigned_user_id, create_user_id, created_date, :now FROM tasks WHERE id IN :ids", nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks WHERE id IN :ids", nativeQuery = true)
+    int deleteFromTasks(@Param("ids") Collection<Long> ids);
+
+    // History outlives its users: deleting a user unlinks the archived tasks instead of blocking
+    @Modifying
+    @Query("UPDATE ArchivedTask t SET t.createUserId = null WHERE t.createUserId = :userId")
+    int unlinkCreator(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE ArchivedTask t SET t.assignedUserId = null WHERE t.assignedUserId = :userId")
+    int unlinkAssignee(@Param("userId") Long userId);
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.TaskCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+
+    List<TaskCounter> findByScopeId(Long scopeId);
+
+    // Counters cover archived tasks too, so recounts read both tables
+    String ALL_TASKS = "(SELECT id, status, priority, assigned_user_id, create_user_id FROM tasks"
+            + " UNION ALL SELECT id, status, priority, assigned_user_id, create_user_id FROM task_archive)";
+
+    // Rows exist for every scope, so a change is always a plain UPDATE of one row
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.taskCount = c.taskCount + :delta "
+            + "WHERE c.scopeId = :scopeId AND c.status = :status AND c.priority = :priority")
+    int add(@Param("scopeId") Long scopeId, @Param("status") String status, @Param("priority") String priority,
+            @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM TaskCounter c WHERE c.scopeId = :scopeId")
+    int deleteScope(@Param("scopeId") Long scopeId);
+
+    // The manager stops seeing tasks created by the user, except those assigned to the manager. Native
+    // statements name the table they write, or Hibernate clears every second-level cache region after them.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_counters"))
+    @Query(value = "UPDATE task_counters c SET task_count = task_count - (SELECT COUNT(*) FROM " + ALL_TASKS + " t "
+            + "WHERE t.create_user_id = :creatorId AND CAST(t.status AS VARCHAR(16)) = c.status "
+            + "AND COALESCE(CAST(t.priority AS VARCHAR(16)), 'NONE') = c.priority "
+            + "AND (t.assigned_user_id IS NULL OR t.assigned_user_id <> c.scope_id)) "
+            + "WHERE c.scope_id = :managerId", nativeQuery = true)
+    int removeCreatorFromScope(@Param("creatorId") Long creatorId, @Param("managerId") Long managerId);
+
+    // Every status x priority combination, NONE standing in for a null priority
+    String GRID = "(VALUES ('PENDING'), ('APPROVED'), ('REJECTED')) st (status) "
+            + "CROSS JOIN (VALUES ('P0'), ('P1'), ('P2'), ('P3'), ('P4'), ('NONE')) pr (priority)";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_counters"))
+    @Query(value = "INSERT INTO task_counters (scope_id, status, priority, task_count) "
+            + "SELECT :scopeId, st.status, pr.priority, 0 FROM " + GRID, nativeQuery = true)
+    int createScope(@Param("scopeId") Long scopeId);
+
+    @Query(value = "SELECT s.id FROM (SELECT id FROM users UNION SELECT 0) s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM task_counters c WHERE c.scope_id = s.id)", nativeQuery = true)
+    List<Number> findMissingScopes();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_counters"))
+    @Query(value = "INSERT INTO task_counters (scope_id, status, priority, task_count) "
+            + "SELECT s.id, st.status, pr.priority, 0 FROM (SELECT id FROM users UNION SELECT 0) s CROSS JOIN " + GRID
+            + " WHERE NOT EXISTS (SELECT 1 FROM task_counters c WHERE c.scope_id = s.id)", nativeQuery = true)
+    int createMissingScopes();
+
+    /**
+     * Rows of (scope, status, priority, count) over all tasks, archived included. A task
+     * is in the scopes of its creator, its assignee and the creator's manager (see
+     * TaskSpecifications.visibleTo), and in the global scope; UNION drops the
+     * duplicates where those coincide.
+     */
+    @Query(value = "SELECT v.scope_id, v.status, v.priority, COUNT(*) FROM ("
+            + "  SELECT id, create_user_id AS scope_id, CAST(status AS VARCHAR(16)) AS status,"
+            + "    COALESCE(CAST(priority AS VARCHAR(16)), 'NONE') AS priority FROM " + ALL_TASKS + " c"
+            + "    WHERE create_user_id IS NOT NULL"
+            + "  UNION SELECT id, assigned_user_id, CAST(status AS VARCHAR(16)),"
+            + "    COALESCE(CAST(priority AS VARCHAR(16)), 'NONE') FROM " + ALL_TASKS + " a"
+            + "    WHERE assigned_user_id IS NOT NULL"
+            + "  UNION SELECT t.id, u.manager_id, CAST(t.status AS VARCHAR(16)),"
+            + "    COALESCE(CAST(t.priority AS VARCHAR(16)), 'NONE') FROM " + ALL_TASKS + " t"
+            + "    JOIN users u ON u.id = t.create_user_id WHERE u.manager_id IS NOT NULL"
+            + "  UNION SELECT id, 0, CAST(status AS VARCHAR(16)), COALESCE(CAST(priority AS VARCHAR(16)), 'NONE')"
+            + "    FROM " + ALL_TASKS + " g"
+            + ") v WHERE v.status IS NOT NULL GROUP BY v.scope_id, v.status, v.priority", nativeQuery = true)
+    List<Object[]> countAllScopes();
+}
@@ -2,15 +2,45 @@ package com.example.taskmanager.repository;
 
 import com.example.taskmanager.entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    java.util.List<Task> findByAssignedUser(com.example.taskmanager.entity.User user);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskViewRepository, TaskSearchRepository {
+    boolean existsByAssignedUserId(Long userId);
 
-    java.util.List<Task> findByCreateUser(com.example.taskmanager.entity.User user);
+    long countByAssignedUserId(Long userId);
 
     @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.createUserId = :userId OR t.assignedUserId = :userId")
     java.util.List<Task> findTasksForUser(@org.springframework.data.repository.query.Param("userId") Long userId);
 
     @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.createUserId = :userId OR t.assignedUserId = :userId OR t.createUserId IN (SELECT u.id FROM User u WHERE u.manager.id = :userId)")
     java.util.List<Task> findTasksForManager(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    // Status changes and deletes read the row they replace under this lock, so concurrent writers
+    // of one task publish previous statuses that chain instead of all naming the same one
+    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.id = :id")
+    java.util.Optional<Task> lockById(@org.springframework.data.repository.query.Param("id") Long id);
+
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true)
+    @org.springframework.data.jpa.repository.Query("UPDATE Task t SET t.status = :status WHERE t.id IN :ids AND t.status <> :status")
+    int updateStatus(@org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids,
+            @org.springframework.data.repository.query.Param("status") com.example.taskmanager.entity.TaskStatus status);
+
+    // Waits for rows being edited instead of skipping them: offboarding has to hand over every task
+    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @org.springframework.data.jpa.repository.Query("SELECT t.id FROM Task t WHERE t.assignedUserId = :userId ORDER BY t.id")
+    java.util.List<Long> lockAssignedTo(@org.springframework.data.repository.query.Param("userId") Long userId,
+            org.springframework.data.domain.Pageable pageable);
+
+    // Pending tasks move to the successor; approved and rejected ones keep no assignee
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true)
+    @org.springframework.data.jpa.repository.Query("UPDATE Task t SET t.assignedUserId = CASE WHEN t.status = "
+            + "com.example.taskmanager.entity.TaskStatus.PENDING THEN :successorId ELSE NULL END WHERE t.id IN :ids")
+    int handOver(@org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids,
+            @org.springframework.data.repository.query.Param("successorId") Long successorId);
+
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true)
+    @org.springframework.data.jpa.repository.Query("UPDATE Task t SET t.createUserId = NULL WHERE t.createUserId = :userId")
+    int unlinkCreator(@org.springframework.data.repository.query.Param("userId") Long userId);
 }
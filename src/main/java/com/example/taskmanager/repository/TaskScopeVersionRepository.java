@@ -0,0 +1,35 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.TaskScopeVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface TaskScopeVersionRepository extends JpaRepository<TaskScopeVersion, Long> {
+
+    @Query("SELECT v.version FROM TaskScopeVersion v WHERE v.scopeId = :scopeId")
+    Optional<Long> findVersion(@Param("scopeId") Long scopeId);
+
+    // Rows are created with the user, so a bump is always a plain UPDATE
+    @Modifying
+    @Query("UPDATE TaskScopeVersion v SET v.version = v.version + 1 WHERE v.scopeId IN :scopeIds")
+    int bump(@Param("scopeIds") Collection<Long> scopeIds);
+
+    @Modifying
+    @Query("UPDATE TaskScopeVersion v SET v.version = v.version + 1")
+    int bumpAll();
+
+    // Naming the table keeps Hibernate from clearing every second-level cache region after the statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_scope_versions"))
+    @Query(value = "INSERT INTO task_scope_versions (scope_id, version) SELECT u.id, 0 FROM users u "
+            + "WHERE NOT EXISTS (SELECT 1 FROM task_scope_versions v WHERE v.scope_id = u.id)", nativeQuery = true)
+    int createMissingUserScopes();
+}
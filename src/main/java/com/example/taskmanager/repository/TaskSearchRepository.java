@@ -0,0 +1,11 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.User;
+
+import java.util.List;
+
+public interface TaskSearchRepository {
+
+    // PostgreSQL only: ids of the user's visible tasks matching a web-search style query, best match first
+    List<Long> searchIds(String query, User user, int offset, int limit);
+}
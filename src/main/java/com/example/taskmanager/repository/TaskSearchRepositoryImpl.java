@@ -0,0 +1,37 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Matched through idx_tasks_search (GIN on the generated search_vector column), ranked by cover density
+    @Override
+    public List<Long> searchIds(String query, User user, int offset, int limit) {
+        String visibility = TaskSql.visibleTo(user.getRole());
+        StringBuilder sql = new StringBuilder("SELECT t.id FROM tasks t, ").append(TaskSql.SEARCH_QUERY)
+                .append(" WHERE ").append(TaskSql.SEARCH_MATCH);
+        if (visibility != null) {
+            sql.append(" AND ").append(visibility);
+        }
+        sql.append(" ORDER BY ").append(TaskSql.SEARCH_ORDER).append(" OFFSET :offset LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), Long.class)
+                .setParameter("query", query)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit);
+        if (visibility != null) {
+            nativeQuery.setParameter("userId", user.getId());
+        }
+        @SuppressWarnings("unchecked")
+        List<Long> ids = nativeQuery.getResultList();
+        return ids;
+    }
+}
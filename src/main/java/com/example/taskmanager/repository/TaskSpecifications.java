@@ -0,0 +1,72 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Same visibility rules as findTasksForUser / findTasksForManager, Admin sees everything
+    public static Specification<Task> visibleTo(User user) {
+        return (root, query, cb) -> {
+            if (user.getRole() == Role.ADMIN) {
+                return cb.conjunction();
+            }
+            Predicate own = cb.or(
+                    cb.equal(root.get("createUserId"), user.getId()),
+                    cb.equal(root.get("assignedUserId"), user.getId()));
+            if (user.getRole() != Role.MANAGER) {
+                return own;
+            }
+            Subquery<Long> team = query.subquery(Long.class);
+            var member = team.from(User.class);
+            team.select(member.get("id")).where(cb.equal(member.get("manager").get("id"), user.getId()));
+            return cb.or(own, root.get("createUserId").in(team));
+        };
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (filter.getAssignedUserId() != null) {
+                predicates.add(cb.equal(root.get("assignedUserId"), filter.getAssignedUserId()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdDate"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdDate"), filter.getCreatedTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Keyset predicate for (createdDate DESC, id DESC) ordering
+    public static Specification<Task> before(LocalDateTime createdDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdDate"), createdDate),
+                cb.and(cb.equal(root.get("createdDate"), createdDate), cb.lessThan(root.get("id"), id)));
+    }
+}
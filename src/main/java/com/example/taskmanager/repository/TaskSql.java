@@ -0,0 +1,32 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.Role;
+
+/**
+ * Native SQL shared by the JPA repositories and the reactive read module. Tasks
+ * are aliased {@code t} and the viewer's id is bound as {@code :userId}.
+ */
+public final class TaskSql {
+
+    // PostgreSQL full-text match against the generated search_vector column; the query is bound as :query
+    public static final String SEARCH_QUERY = "websearch_to_tsquery('english', :query) q";
+
+    public static final String SEARCH_MATCH = "t.search_vector @@ q";
+
+    public static final String SEARCH_ORDER = "ts_rank_cd(t.search_vector, q) DESC, t.id DESC";
+
+    private TaskSql() {
+    }
+
+    // Same visibility rules as TaskSpecifications.visibleTo; null for admins, who see every task
+    public static String visibleTo(Role role) {
+        if (role == Role.ADMIN) {
+            return null;
+        }
+        if (role == Role.MANAGER) {
+            return "(t.create_user_id = :userId OR t.assigned_user_id = :userId"
+                    + " OR t.create_user_id IN (SELECT u.id FROM users u WHERE u.manager_id = :userId))";
+        }
+        return "(t.create_user_id = :userId OR t.assigned_user_id = :userId)";
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskViewRepository {
+
+    // Newest first, ordered by (createdDate DESC, id DESC) to match the keyset cursor
+    List<TaskView> findViews(Specification<Task> spec, int limit);
+
+    // As above; with includeHistory the archived tasks matching spec are merged into the same order
+    List<TaskView> findViews(Specification<Task> spec, int limit, boolean includeHistory);
+
+    // Forward-only cursor ordered by id; must be consumed inside a transaction and closed
+    Stream<TaskView> streamViews(Specification<Task> spec);
+
+    // As above; with includeHistory the archived tasks follow the live ones, again ordered by id
+    Stream<TaskView> streamViews(Specification<Task> spec, boolean includeHistory);
+
+    // Locks the matching live tasks in id order and returns their ids; writers of the same rows wait
+    List<Long> lockIds(Specification<Task> spec);
+
+    long countViews(Specification<Task> spec, boolean includeHistory);
+}
@@ -0,0 +1,144 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.ArchivedTask;
+import com.example.taskmanager.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+class TaskViewRepositoryImpl implements TaskViewRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final Comparator<TaskView> NEWEST_FIRST = Comparator
+            .comparing(TaskView::getCreatedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TaskView::getId, Comparator.reverseOrder());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findViews(Specification<Task> spec, int limit) {
+        return findViews(Task.class, spec, limit);
+    }
+
+    // Each table contributes at most limit rows; the merged list is cut back to limit
+    @Override
+    public List<TaskView> findViews(Specification<Task> spec, int limit, boolean includeHistory) {
+        List<TaskView> live = findViews(Task.class, spec, limit);
+        if (!includeHistory) {
+            return live;
+        }
+        List<TaskView> rows = new ArrayList<>(live);
+        rows.addAll(findViews(ArchivedTask.class, spec, limit));
+        rows.sort(NEWEST_FIRST);
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    @Override
+    public Stream<TaskView> streamViews(Specification<Task> spec) {
+        return streamViews(Task.class, spec);
+    }
+
+    @Override
+    public Stream<TaskView> streamViews(Specification<Task> spec, boolean includeHistory) {
+        Stream<TaskView> live = streamViews(Task.class, spec);
+        if (!includeHistory) {
+            return live;
+        }
+        // Both cursors stay open side by side in the caller's transaction; closing the result closes both
+        return Stream.concat(live, streamViews(ArchivedTask.class, spec));
+    }
+
+    @Override
+    public List<Long> lockIds(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root.get("id"));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        // A fixed lock order keeps two overlapping batches from deadlocking
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+    }
+
+    @Override
+    public long countViews(Specification<Task> spec, boolean includeHistory) {
+        long count = count(Task.class, spec);
+        return includeHistory ? count + count(ArchivedTask.class, spec) : count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long count(Class<?> entity, Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(entity);
+        query.select(cb.count(root));
+        if (spec != null) {
+            query.where(spec.toPredicate((Root<Task>) root, query, cb));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<TaskView> findViews(Class<?> entity, Specification<Task> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = viewQuery(cb, entity, spec);
+        Root<?> root = query.getRoots().iterator().next();
+        query.orderBy(cb.desc(root.get("createdDate")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private Stream<TaskView> streamViews(Class<?> entity, Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = viewQuery(cb, entity, spec);
+        Root<?> root = query.getRoots().iterator().next();
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Left joins to users for the two usernames only, so no User entity (or its
+     * manager chain) is loaded. ArchivedTask has the same attribute names as Task,
+     * which lets a task specification build its predicate on either root.
+     */
+    @SuppressWarnings("unchecked")
+    private CriteriaQuery<TaskView> viewQuery(CriteriaBuilder cb, Class<?> entity, Specification<Task> spec) {
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<?> root = query.from(entity);
+        Join<?, ?> assignedUser = root.join("assignedUser", JoinType.LEFT);
+        Join<?, ?> createUser = root.join("createUser", JoinType.LEFT);
+        query.select(cb.construct(TaskView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("createdDate"),
+                root.get("assignedUserId"),
+                assignedUser.get("username"),
+                root.get("createUserId"),
+                createUser.get("username")));
+        if (spec != null) {
+            query.where(spec.toPredicate((Root<Task>) root, query, cb));
+        }
+        return query;
+    }
+}
@@ -1,11 +1,51 @@
 package com.example.taskmanager.repository;
 
 import com.example.taskmanager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
 
-    java.util.List<User> findByManager(User manager);
+    String BY_USERNAME = "SELECT u FROM User u WHERE u.username = :username";
+
+    // Every login and principal lookup; the cached result holds the id and the row comes from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(BY_USERNAME)
+    Optional<User> findByUsername(@Param("username") String username);
+
+    // The same query skipping the query cache and overwriting its entry, which may hold a replica's miss
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH") })
+    @Query(BY_USERNAME)
+    Optional<User> refreshByUsername(@Param("username") String username);
+
+    // Direct reports: the team whose tasks a manager sees and assigns
+    @Query("SELECT u FROM User u WHERE u.manager.id = :managerId")
+    java.util.List<User> findDirectReports(@Param("managerId") Long managerId);
+
+    @Query("SELECT u.username FROM User u WHERE u.manager.id = :managerId")
+    java.util.List<String> findReportUsernames(@Param("managerId") Long managerId);
+
+    // Direct reports of a removed manager; Hibernate drops the cached users on a bulk update
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.manager = NULL WHERE u.manager.id = :managerId")
+    int clearManager(@Param("managerId") Long managerId);
+
+    // Direct and transitive reports of a manager, walked over the users.manager_id index, for the
+    // user-management checks. The depth guard stops the walk should the manager chain ever contain a cycle.
+    String REPORTS_CTE = "WITH RECURSIVE reports(id, depth) AS ("
+            + " SELECT id, 1 FROM users WHERE manager_id = :managerId"
+            + " UNION ALL"
+            + " SELECT u.id, r.depth + 1 FROM users u JOIN reports r ON u.manager_id = r.id WHERE r.depth < 32) ";
+
+    @Query(value = REPORTS_CTE + "SELECT COUNT(*) FROM reports WHERE id = :userId", nativeQuery = true)
+    long countInReportingChain(@Param("managerId") Long managerId, @Param("userId") Long userId);
 }
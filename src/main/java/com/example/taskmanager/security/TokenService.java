@@ -0,0 +1,124 @@
+package com.example.taskmanager.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed tokens of the form
+ * {@code base64url(expiry|roles|username).base64url(signature)}. Verification is
+ * purely computational, so it needs neither the database nor a session store.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.auth.token.enabled", havingValue = "true")
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${taskmanager.auth.token.secret:}") String secret,
+            @Value("${taskmanager.auth.token.ttl:8h}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException(
+                    "taskmanager.auth.token.secret must be set to at least 32 bytes when token auth is enabled");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(Authentication authentication) {
+        long expiry = clock.instant().plus(ttl).getEpochSecond();
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = expiry + "|" + roles + "|" + authentication.getName();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Returns the verified claims, or null if the token is malformed, tampered with or expired.
+     */
+    public Claims verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return null;
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3) {
+            return null;
+        }
+        long expiry;
+        try {
+            expiry = Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (clock.instant().getEpochSecond() >= expiry) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = parts[1].isEmpty() ? List.of()
+                : Arrays.stream(parts[1].split(",")).<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+        return new Claims(parts[2], authorities);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    public record Claims(String username, List<GrantedAuthority> authorities) {
+    }
+}
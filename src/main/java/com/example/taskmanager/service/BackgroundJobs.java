@@ -0,0 +1,158 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.JobState;
+import com.example.taskmanager.entity.User;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Background jobs kept in memory on the node that runs them, each visible to
+ * the user who submitted it only; a restart forgets them. At most concurrency
+ * jobs run at once and the rest wait in the queue. A job holds a slot under
+ * its quota key from submission until it ends, however it ends. The pool comes from Boot's
+ * executor builder and uses virtual threads when spring.threads.virtual.enabled
+ * is set.
+ */
+public class BackgroundJobs<J extends BackgroundJobs.Job> {
+
+    private final Map<String, J> jobs = new ConcurrentHashMap<>();
+
+    // Unfinished jobs per quota key
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final String notFound;
+
+    public BackgroundJobs(ThreadPoolTaskExecutorBuilder builder, Environment environment, String threadNamePrefix,
+            int concurrency, String notFound) {
+        this.notFound = notFound;
+        executor = builder.corePoolSize(concurrency)
+                .maxPoolSize(concurrency)
+                .queueCapacity(Integer.MAX_VALUE)
+                .threadNamePrefix(threadNamePrefix)
+                .build();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.initialize();
+    }
+
+    /**
+     * Queues the job unless limit jobs under the same quota key are unfinished,
+     * in which case it returns false. The slot is reserved atomically, so
+     * concurrent submits cannot overshoot the limit. A task that ends without
+     * finishing its job, for instance on an Error, leaves it FAILED.
+     */
+    public boolean submit(J job, Long quotaKey, int limit, Consumer<J> task) {
+        boolean[] reserved = new boolean[1];
+        slots.compute(quotaKey, (key, count) -> {
+            int taken = count == null ? 0 : count;
+            if (taken >= limit) {
+                return count;
+            }
+            reserved[0] = true;
+            return taken + 1;
+        });
+        if (!reserved[0]) {
+            return false;
+        }
+        job.quotaKey = quotaKey;
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            release(quotaKey);
+            throw e;
+        }
+        return true;
+    }
+
+    private void run(J job, Consumer<J> task) {
+        job.state = JobState.RUNNING;
+        try {
+            task.accept(job);
+        } finally {
+            if (!job.isDone()) {
+                job.finish(JobState.FAILED, "Job ended unexpectedly");
+            }
+            release(job.quotaKey);
+        }
+    }
+
+    private void release(Long quotaKey) {
+        slots.computeIfPresent(quotaKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // Another user's job is reported as missing rather than forbidden, so ids cannot be probed
+    public J find(String id, User user) {
+        J job = jobs.get(id);
+        if (job == null || !job.ownerId.equals(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, notFound);
+        }
+        return job;
+    }
+
+    public void removeExpired(Duration retention) {
+        removeExpired(retention, job -> { });
+    }
+
+    // onRemove releases what a finished job still holds
+    public void removeExpired(Duration retention, Consumer<J> onRemove) {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.isDone() || job.completedDate.isAfter(cutoff)) {
+                return false;
+            }
+            onRemove.accept(job);
+            return true;
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public abstract static class Job {
+
+        final String id = UUID.randomUUID().toString();
+
+        final Long ownerId;
+
+        final LocalDateTime createdDate = LocalDateTime.now(ZoneOffset.UTC);
+
+        volatile JobState state = JobState.QUEUED;
+
+        volatile LocalDateTime completedDate;
+
+        volatile String error;
+
+        // Set on submit, before the job is handed to the executor
+        Long quotaKey;
+
+        protected Job(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        boolean isDone() {
+            return state == JobState.COMPLETED || state == JobState.FAILED;
+        }
+
+        void finish(JobState result, String message) {
+            error = message;
+            completedDate = LocalDateTime.now(ZoneOffset.UTC);
+            state = result;
+        }
+    }
+}
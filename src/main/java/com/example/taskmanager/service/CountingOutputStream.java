@@ -0,0 +1,35 @@
+package com.example.taskmanager.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Passes bytes through and counts them, so the export size is the number of
+ * bytes actually sent, after any compression.
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+    private long bytes;
+
+    CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        bytes++;
+    }
+
+    // FilterOutputStream would forward the array one byte at a time
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        bytes += len;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the email outbox in the background so task creation never waits on SMTP.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${taskmanager.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${taskmanager.mail.outbox.poll-interval:5s}")
+    public void drain() {
+        try {
+            // Keep going while batches come back full; each batch commits on its own
+            while (emailService.dispatchPendingBatch() >= batchSize) {
+                log.debug("Email outbox still has due messages, dispatching next batch");
+            }
+        } catch (RuntimeException e) {
+            log.error("Email outbox dispatch failed", e);
+        }
+    }
+}
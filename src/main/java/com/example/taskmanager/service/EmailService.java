@@ -1,54 +1,207 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.entity.EmailOutbox;
+import com.example.taskmanager.entity.OutboxStatus;
 import com.example.taskmanager.entity.Task;
-import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
+    private static final String FROM_ADDRESS = "noreply@taskmanager.com";
+
     @Autowired(required = false)
     private JavaMailSender mailSender;
 
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicBoolean disabledWarned = new AtomicBoolean();
+
+    @Value("${taskmanager.mail.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${taskmanager.mail.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${taskmanager.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @Value("${taskmanager.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    // Queued in the caller's transaction, so a rolled back task never produces an email
+    @Transactional
     public void sendTaskNotification(Task task) {
-        // Notify Creator
-        if (task.getCreateUser() != null && task.getCreateUser().getEmail() != null) {
-            sendEmail(task.getCreateUser().getEmail(), "Task Created: " + task.getTitle(), buildEmailBody(task));
-        }
+        sendTaskNotifications(List.of(task));
+    }
+
+    @Transactional
+    public void sendTaskNotifications(List<Task> tasks) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<EmailOutbox> messages = new ArrayList<>();
+        for (Task task : tasks) {
+            // Notify Creator
+            if (task.getCreateUser() != null && task.getCreateUser().getEmail() != null) {
+                messages.add(outboxEntry(task.getCreateUser().getEmail(), "Task Created: " + task.getTitle(),
+                        buildEmailBody(task), now));
+            }
 
-        // Notify Assignee (if different from creator)
-        if (task.getAssignedUser() != null && task.getAssignedUser().getEmail() != null) {
-            if (task.getCreateUserId() == null || !task.getCreateUserId().equals(task.getAssignedUserId())) {
-                sendEmail(task.getAssignedUser().getEmail(), "Task Assigned: " + task.getTitle(), buildEmailBody(task));
+            // Notify Assignee (if different from creator)
+            if (task.getAssignedUser() != null && task.getAssignedUser().getEmail() != null) {
+                if (task.getCreateUserId() == null || !task.getCreateUserId().equals(task.getAssignedUserId())) {
+                    messages.add(outboxEntry(task.getAssignedUser().getEmail(), "Task Assigned: " + task.getTitle(),
+                            buildEmailBody(task), now));
+                }
             }
         }
+        if (messages.isEmpty()) {
+            return;
+        }
+        // Without a mail sender nothing would ever drain the outbox
+        if (!isEnabled()) {
+            warnDisabled();
+            meterRegistry.counter("taskmanager.mail.skipped").increment(messages.size());
+            return;
+        }
+        outboxRepository.saveAll(messages);
     }
 
-    private void sendEmail(String to, String subject, String body) {
-        System.out.println("Sending email to: " + to);
+    /**
+     * Whether a mail sender is configured. Without one notifications are
+     * dropped and counted under taskmanager.mail.skipped.
+     */
+    public boolean isEnabled() {
+        return mailSender != null;
+    }
 
-        if (mailSender != null) {
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(to);
-                message.setSubject(subject);
-                message.setText(body);
-                message.setFrom("noreply@taskmanager.com");
-                mailSender.send(message);
-                System.out.println("Email sent successfully.");
-            } catch (Exception e) {
-                System.err.println("Failed to send email: " + e.getMessage());
-                e.printStackTrace();
+    private void warnDisabled() {
+        if (disabledWarned.compareAndSet(false, true)) {
+            log.warn("No mail sender is configured (spring.mail.host is unset); email notifications are skipped");
+        }
+    }
+
+    private EmailOutbox outboxEntry(String to, String subject, String body, LocalDateTime now) {
+        EmailOutbox message = new EmailOutbox();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setCreatedDate(now);
+        message.setNextAttemptAt(now);
+        return message;
+    }
+
+    /**
+     * Sends one batch of due outbox messages over a single SMTP connection and
+     * records the outcome of each. Returns the number of messages handled, or 0
+     * when the relay failed the whole batch so the caller stops and backs off.
+     */
+    @Transactional
+    public int dispatchPendingBatch() {
+        if (!isEnabled()) {
+            warnDisabled();
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<EmailOutbox> batch = outboxRepository.lockDueBatch(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox entry = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(entry.getRecipient());
+            message.setSubject(entry.getSubject());
+            message.setText(entry.getBody());
+            message.setFrom(FROM_ADDRESS);
+            messages[i] = message;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+        sample.stop(meterRegistry.timer("taskmanager.mail.send", "outcome",
+                batchFailure != null ? "failure" : failures.isEmpty() ? "success" : "partial"));
+
+        int sent = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox entry = batch.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages[i]);
+            if (failure == null) {
+                entry.setStatus(OutboxStatus.SENT);
+                entry.setSentDate(now);
+                entry.setLastError(null);
+                sent++;
+            } else {
+                recordFailure(entry, failure, now);
             }
-        } else {
-            System.out.println("MailSender is not configured!");
         }
+        meterRegistry.counter("taskmanager.mail.sent").increment(sent);
+        log.info("Dispatched email batch: {} sent, {} failed", sent, batch.size() - sent);
+        return batchFailure != null ? 0 : batch.size();
+    }
+
+    private void recordFailure(EmailOutbox entry, Exception failure, LocalDateTime now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        String error = String.valueOf(failure.getMessage());
+        entry.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            meterRegistry.counter("taskmanager.mail.failures", "result", "dead").increment();
+            entry.setStatus(OutboxStatus.DEAD);
+            log.warn("Giving up on email {} to {} after {} attempts: {}", entry.getId(), entry.getRecipient(),
+                    attempts, error);
+            return;
+        }
+        meterRegistry.counter("taskmanager.mail.failures", "result", "retry").increment();
+        // Exponential backoff: initial, 2x, 4x ... capped at maxBackoff
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        entry.setNextAttemptAt(now.plus(delay));
     }
 
-    private String buildEmailBody(Task task) {
+    String buildEmailBody(Task task) {
         return String.format(
                 "Task Details:\nID: %d\nTitle: %s\nDescription: %s\nStatus: %s\nCreated By: %s\nAssigned To: %s\nCreated Date: %s",
                 task.getId(),
@@ -0,0 +1,55 @@
+package com.example.taskmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Moves approved and rejected tasks older than the retention age from the tasks
+ * table to the archive in the background, one short transaction per batch.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    // Measured from the task's creation date: there is no record of when it was closed
+    @Value("${taskmanager.tasks.archive.after:90d}")
+    private Duration after = Duration.ofDays(90);
+
+    @Value("${taskmanager.tasks.archive.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Scheduled(fixedDelayString = "${taskmanager.tasks.archive.interval:1h}",
+            initialDelayString = "${taskmanager.tasks.archive.initial-delay:1m}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(after);
+        long start = System.currentTimeMillis();
+        int total = 0;
+        try {
+            // Keep going while batches come back full; each batch commits on its own
+            int archived;
+            do {
+                archived = taskService.archiveClosedTasks(cutoff, batchSize);
+                total += archived;
+            } while (archived >= batchSize);
+        } catch (RuntimeException e) {
+            log.error("Task archiving failed after {} tasks", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Archived {} tasks closed and created before {} in {} ms", total, cutoff,
+                    System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskView;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes tasks as an Arrow IPC stream: the schema, then record batches of up to
+ * BATCH_ROWS rows, each column a typed vector. Only the current batch is held
+ * in memory; its buffers are released when the next batch is allocated.
+ */
+final class TaskArrowWriter implements TaskRowWriter {
+
+    static final int BATCH_ROWS = 8192;
+
+    // Dates are stored in UTC, see Task.createdDate
+    private static final Schema SCHEMA = new Schema(List.of(
+            new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+            Field.nullable("title", ArrowType.Utf8.INSTANCE),
+            Field.nullable("description", ArrowType.Utf8.INSTANCE),
+            Field.nullable("status", ArrowType.Utf8.INSTANCE),
+            Field.nullable("priority", ArrowType.Utf8.INSTANCE),
+            Field.nullable("assignedUserId", new ArrowType.Int(64, true)),
+            Field.nullable("assignedUsername", ArrowType.Utf8.INSTANCE),
+            Field.nullable("createUserId", new ArrowType.Int(64, true)),
+            Field.nullable("createUsername", ArrowType.Utf8.INSTANCE),
+            Field.nullable("createdDate", new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC"))));
+
+    private final BufferAllocator allocator = new RootAllocator();
+
+    private final VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+
+    private final ArrowStreamWriter writer;
+
+    private final BigIntVector id = (BigIntVector) root.getVector("id");
+
+    private final VarCharVector title = (VarCharVector) root.getVector("title");
+
+    private final VarCharVector description = (VarCharVector) root.getVector("description");
+
+    private final VarCharVector status = (VarCharVector) root.getVector("status");
+
+    private final VarCharVector priority = (VarCharVector) root.getVector("priority");
+
+    private final BigIntVector assignedUserId = (BigIntVector) root.getVector("assignedUserId");
+
+    private final VarCharVector assignedUsername = (VarCharVector) root.getVector("assignedUsername");
+
+    private final BigIntVector createUserId = (BigIntVector) root.getVector("createUserId");
+
+    private final VarCharVector createUsername = (VarCharVector) root.getVector("createUsername");
+
+    private final TimeStampMicroTZVector createdDate = (TimeStampMicroTZVector) root.getVector("createdDate");
+
+    // Rows in the current, not yet written batch
+    private int count;
+
+    TaskArrowWriter(OutputStream out) {
+        this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(out));
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.start();
+    }
+
+    @Override
+    public void writeRow(TaskView task) throws IOException {
+        if (count == 0) {
+            allocateBatch();
+        }
+        // Null values are left unset: a freshly allocated vector has every validity bit cleared
+        id.setSafe(count, task.getId());
+        setString(title, task.getTitle());
+        setString(description, task.getDescription());
+        setString(status, task.getStatus() != null ? task.getStatus().name() : null);
+        setString(priority, task.getPriority() != null ? task.getPriority().name() : null);
+        if (task.getAssignedUser() != null) {
+            assignedUserId.setSafe(count, task.getAssignedUser().getId());
+            setString(assignedUsername, task.getAssignedUser().getUsername());
+        }
+        if (task.getCreateUser() != null) {
+            createUserId.setSafe(count, task.getCreateUser().getId());
+            setString(createUsername, task.getCreateUser().getUsername());
+        }
+        if (task.getCreatedDate() != null) {
+            createdDate.setSafe(count, toEpochMicros(task.getCreatedDate()));
+        }
+        if (++count == BATCH_ROWS) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (count > 0) {
+            writeBatch();
+        }
+        writer.end();
+    }
+
+    // The stream writer is not closed, since that would close the caller's stream
+    @Override
+    public void close() {
+        root.close();
+        allocator.close();
+    }
+
+    private void allocateBatch() {
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.setInitialCapacity(BATCH_ROWS);
+            vector.allocateNew();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(count);
+        writer.writeBatch();
+        count = 0;
+    }
+
+    private void setString(VarCharVector vector, String value) {
+        if (value != null) {
+            vector.setSafe(count, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.dto.TaskStats;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskCounter;
+import com.example.taskmanager.entity.TaskScopeVersion;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Task counts per visibility scope, status and priority, so dashboards read a
+ * fixed number of rows instead of grouping the tasks table. Every task change
+ * adjusts the counters of the scopes that can see the task within the writer's
+ * own transaction.
+ */
+@Service
+public class TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterService.class);
+
+    // Deltas are applied in key order, so concurrent writers lock shared rows in the same order
+    private static final Comparator<TaskCounter.Key> KEY_ORDER = Comparator
+            .comparing(TaskCounter.Key::getScopeId)
+            .thenComparing(TaskCounter.Key::getStatus)
+            .thenComparing(TaskCounter.Key::getPriority);
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    private final TransactionTemplate transaction;
+
+    public TaskCounterService(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStats getStats(User user) {
+        Long scope = user.getRole() == Role.ADMIN ? TaskScopeVersion.GLOBAL_SCOPE : user.getId();
+        Map<TaskStatus, Map<String, Long>> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            Map<String, Long> byPriority = new LinkedHashMap<>();
+            for (String priority : priorityKeys()) {
+                byPriority.put(priority, 0L);
+            }
+            counts.put(status, byPriority);
+        }
+        long total = 0;
+        for (TaskCounter counter : counterRepository.findByScopeId(scope)) {
+            counts.get(TaskStatus.valueOf(counter.getStatus())).put(counter.getPriority(), counter.getTaskCount());
+            total += counter.getTaskCount();
+        }
+        TaskStats.Scope kind = switch (user.getRole()) {
+            case ADMIN -> TaskStats.Scope.GLOBAL;
+            case MANAGER -> TaskStats.Scope.TEAM;
+            default -> TaskStats.Scope.OWN;
+        };
+        return new TaskStats(kind, total, counts);
+    }
+
+    // A new user sees no tasks yet, so the scope starts as zero rows
+    @Transactional
+    public void register(Long userId) {
+        counterRepository.createScope(userId);
+    }
+
+    /**
+     * Counts scopes created outside the service: the seeded default users, a
+     * freshly migrated database or one filled by the load-test generator. The
+     * tasks table is aggregated once and only the new scopes are updated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingScopes() {
+        transaction.executeWithoutResult(status -> {
+            Set<Long> missing = new HashSet<>();
+            counterRepository.findMissingScopes().forEach(id -> missing.add(id.longValue()));
+            if (missing.isEmpty()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            counterRepository.createMissingScopes();
+            for (Object[] row : counterRepository.countAllScopes()) {
+                Long scope = ((Number) row[0]).longValue();
+                if (missing.contains(scope)) {
+                    counterRepository.add(scope, (String) row[1], (String) row[2], ((Number) row[3]).longValue());
+                }
+            }
+            log.info("Counted tasks for {} new counter scopes in {} ms", missing.size(),
+                    System.currentTimeMillis() - start);
+        });
+    }
+
+    /**
+     * Call before the user's created tasks are unlinked: those tasks leave the
+     * scope of the user's manager, and the user's own scope goes away.
+     */
+    @Transactional
+    public void removeUser(User user) {
+        if (user.getManager() != null) {
+            counterRepository.removeCreatorFromScope(user.getId(), user.getManager().getId());
+        }
+        counterRepository.deleteScope(user.getId());
+    }
+
+    /**
+     * Call when tasks assigned to fromUserId are handed over: pending tasks to
+     * toUserId, closed ones to nobody. A scope only changes where the assignee
+     * link was its reason to see the task, not when the user is also the task's
+     * creator or the creator's manager. creatorManagerIds maps creator ids to
+     * their managers.
+     */
+    @Transactional
+    public void handOver(List<TaskView> tasks, Map<Long, Long> creatorManagerIds, Long fromUserId, Long toUserId) {
+        Map<TaskCounter.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        for (TaskView task : tasks) {
+            Long creatorId = task.getCreateUserId();
+            Long managerId = creatorManagerIds.get(creatorId);
+            String status = task.getStatus().name();
+            String priority = priorityKey(task.getPriority());
+            if (!fromUserId.equals(creatorId) && !fromUserId.equals(managerId)) {
+                deltas.merge(new TaskCounter.Key(fromUserId, status, priority), -1L, Long::sum);
+            }
+            if (task.getStatus() == TaskStatus.PENDING && !toUserId.equals(creatorId) && !toUserId.equals(managerId)) {
+                deltas.merge(new TaskCounter.Key(toUserId, status, priority), 1L, Long::sum);
+            }
+        }
+        applyBeforeCommit(deltas);
+    }
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        // Counts cover history as well, so moving a task to the archive changes none of them
+        if (event.getType() == TaskChangeEvent.Type.ARCHIVED) {
+            return;
+        }
+        TaskStatus previous = event.getPreviousStatus();
+        TaskStatus current = event.getTask() != null ? event.getTask().getStatus() : null;
+        // An UPDATED event without the previous status carries no countable change
+        if (previous == current || (event.getType() == TaskChangeEvent.Type.UPDATED && previous == null)) {
+            return;
+        }
+        Map<TaskCounter.Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        Set<Long> scopes = new HashSet<>(event.getAudience());
+        scopes.add(TaskScopeVersion.GLOBAL_SCOPE);
+        String priority = priorityKey(event.getPriority());
+        for (Long scope : scopes) {
+            if (previous != null) {
+                deltas.merge(new TaskCounter.Key(scope, previous.name(), priority), -1L, Long::sum);
+            }
+            if (current != null) {
+                deltas.merge(new TaskCounter.Key(scope, current.name(), priority), 1L, Long::sum);
+            }
+        }
+        applyBeforeCommit(deltas);
+    }
+
+    /**
+     * Deltas are summed per transaction and written just before commit, so a batch
+     * of creates costs one UPDATE per touched row and the hot global rows stay
+     * locked only for the commit itself.
+     */
+    @SuppressWarnings("unchecked")
+    private void applyBeforeCommit(Map<TaskCounter.Key, Long> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transaction.executeWithoutResult(status -> apply(deltas));
+            return;
+        }
+        Map<TaskCounter.Key, Long> pending =
+                (Map<TaskCounter.Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<TaskCounter.Key, Long> collected = new TreeMap<>(KEY_ORDER);
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(collected);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskCounterService.this);
+                }
+            });
+            pending = collected;
+        }
+        Map<TaskCounter.Key, Long> target = pending;
+        deltas.forEach((key, delta) -> target.merge(key, delta, Long::sum));
+    }
+
+    private void apply(Map<TaskCounter.Key, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta != 0 && counterRepository.add(key.getScopeId(), key.getStatus(), key.getPriority(), delta) == 0) {
+                log.debug("No task counter row for {}", key);
+            }
+        });
+    }
+
+    private static List<String> priorityKeys() {
+        List<String> keys = new ArrayList<>();
+        for (Priority priority : Priority.values()) {
+            keys.add(priority.name());
+        }
+        keys.add(TaskCounter.NO_PRIORITY);
+        return keys;
+    }
+
+    private static String priorityKey(Priority priority) {
+        return priority != null ? priority.name() : TaskCounter.NO_PRIORITY;
+    }
+}
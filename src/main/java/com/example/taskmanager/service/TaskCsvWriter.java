@@ -0,0 +1,128 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskView;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Writes tasks as CSV rows directly to the underlying writer, without building
+ * an intermediate String per row or per field.
+ */
+public final class TaskCsvWriter implements TaskRowWriter {
+
+    static final String HEADER = "Task ID,Title,Description,Status,Priority,Assigned User,Created Date";
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer out;
+
+    public TaskCsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write('\uFEFF'); // Write BOM for Excel
+        out.write(HEADER);
+        out.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void writeRow(TaskView task) throws IOException {
+        out.write(String.valueOf(task.getId()));
+        out.write(',');
+        writeEscaped(out, task.getTitle());
+        out.write(',');
+        writeEscaped(out, task.getDescription());
+        out.write(',');
+        out.write(String.valueOf(task.getStatus()));
+        out.write(',');
+        out.write(String.valueOf(task.getPriority()));
+        out.write(',');
+        if (task.getAssignedUser() != null) {
+            writeEscaped(out, task.getAssignedUser().getUsername());
+        } else {
+            out.write("Unassigned");
+        }
+        out.write(',');
+        out.write(String.valueOf(task.getCreatedDate()));
+        out.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    public static String escape(String data) {
+        if (data == null) {
+            return "";
+        }
+        StringWriter sw = new StringWriter(data.length() + 2);
+        try {
+            writeEscaped(sw, data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Line breaks are folded to a single space; fields containing a comma or a
+     * quote are wrapped in double quotes with embedded quotes doubled. Runs of
+     * plain characters are copied with a single write call.
+     */
+    static void writeEscaped(Writer out, String data) throws IOException {
+        if (data == null) {
+            return;
+        }
+        int length = data.length();
+        boolean quote = false;
+        boolean special = false;
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            if (c == ',' || c == '"' || c == '\'') {
+                quote = true;
+                special = true;
+            } else if (isLineBreak(c)) {
+                special = true;
+            }
+        }
+        if (!special) {
+            out.write(data);
+            return;
+        }
+
+        if (quote) {
+            out.write('"');
+        }
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            if (c == '"') {
+                out.write(data, runStart, i + 1 - runStart);
+                out.write('"');
+                runStart = i + 1;
+            } else if (isLineBreak(c)) {
+                out.write(data, runStart, i - runStart);
+                out.write(' ');
+                if (c == '\r' && i + 1 < length && data.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                runStart = i + 1;
+            }
+        }
+        out.write(data, runStart, length - runStart);
+        if (quote) {
+            out.write('"');
+        }
+    }
+
+    // Same set of characters as the regex \R
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\u000C' || c == '\u0085' || c == '\u2028'
+                || c == '\u2029';
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed task changes to connected clients over server-sent events,
+ * filtered with the same visibility rules as TaskService.getAllTasks. Each
+ * subscriber has its own bounded queue, drained by one executor task at a time,
+ * so a slow client only delays itself; one that lets its queue fill up is
+ * closed, and its EventSource reconnects and reloads the list.
+ */
+@Service
+public class TaskEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventService.class);
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${taskmanager.events.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Value("${taskmanager.events.queue-size:256}")
+    private int queueSize = 256;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, user);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, User user) {
+        subscribers.put(emitter, new Subscriber(user.getId(), user.getRole() == Role.ADMIN, queueSize));
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // After commit only; queueing never blocks, the sending happens on the executor
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        subscribers.forEach((emitter, subscriber) -> {
+            if (subscriber.admin || event.getAudience().contains(subscriber.userId)) {
+                enqueue(emitter, subscriber, SseEmitter.event().name("task").data(event));
+            }
+        });
+    }
+
+    // Comment lines keep idle connections open through proxies and flush out dead clients
+    @Scheduled(fixedDelayString = "${taskmanager.events.heartbeat:25s}")
+    public void heartbeat() {
+        subscribers.forEach((emitter, subscriber) ->
+                enqueue(emitter, subscriber, SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void enqueue(SseEmitter emitter, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.pending.offer(event)) {
+            log.debug("Dropping task event subscriber {}: {} events behind", subscriber.userId, queueSize);
+            if (subscribers.remove(emitter) != null) {
+                emitter.complete();
+            }
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> drain(emitter, subscriber));
+        }
+    }
+
+    // Only one drain runs per subscriber, so its events go out one at a time and in order
+    private void drain(SseEmitter emitter, Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.pending.poll()) != null) {
+                if (!send(emitter, event)) {
+                    subscriber.pending.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared found a drain still running
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping task event subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Long userId;
+
+        private final boolean admin;
+
+        private final Queue<SseEmitter.SseEventBuilder> pending;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, boolean admin, int queueSize) {
+            this.userId = userId;
+            this.admin = admin;
+            this.pending = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
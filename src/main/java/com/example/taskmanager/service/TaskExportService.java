@@ -0,0 +1,191 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.ExportJobStatus;
+import com.example.taskmanager.dto.JobState;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs task exports in the background and keeps the result as a gzip-compressed
+ * CSV file on local disk until it expires. Jobs ({@link BackgroundJobs}) and
+ * files belong to the node that ran them, so polling and downloading rely on
+ * sticky sessions when several nodes serve the API.
+ */
+@Service
+public class TaskExportService {
+
+    public static final String CONTENT_TYPE = "application/gzip";
+
+    public static final String FILE_NAME = "tasks.csv.gz";
+
+    private static final Logger log = LoggerFactory.getLogger(TaskExportService.class);
+
+    private static final String FILE_SUFFIX = ".csv.gz";
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadPoolTaskExecutorBuilder executorBuilder;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${taskmanager.export.dir:${java.io.tmpdir}/taskmanager-exports}")
+    private Path directory;
+
+    // Each running job holds a database connection for its whole length
+    @Value("${taskmanager.export.concurrency:2}")
+    private int concurrency = 2;
+
+    @Value("${taskmanager.export.max-jobs-per-user:3}")
+    private int maxJobsPerUser = 3;
+
+    @Value("${taskmanager.export.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    private BackgroundJobs<Job> jobs;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        // Files of a previous run have no job any more
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "*{" + FILE_SUFFIX + "," + PART_SUFFIX + "}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        jobs = new BackgroundJobs<>(executorBuilder, environment, "task-export-", concurrency, "Export not found");
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.shutdown();
+    }
+
+    public ExportJobStatus submit(User user, boolean includeHistory) {
+        Job job = new Job(user.getId(), includeHistory);
+        if (!jobs.submit(job, user.getId(), maxJobsPerUser, started -> run(started, user))) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "At most " + maxJobsPerUser + " exports can be pending per user");
+        }
+        meterRegistry.counter("taskmanager.export.jobs", "result", "submitted").increment();
+        return job.status();
+    }
+
+    public ExportJobStatus getStatus(String id, User user) {
+        return jobs.find(id, user).status();
+    }
+
+    // The finished file, for the download endpoint
+    public Path getFile(String id, User user) {
+        Job job = jobs.find(id, user);
+        if (job.state != JobState.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Export " + id + " is " + job.state);
+        }
+        return job.file;
+    }
+
+    private void run(Job job, User user) {
+        long start = System.currentTimeMillis();
+        Path part = directory.resolve(job.id + PART_SUFFIX);
+        Path file = directory.resolve(job.id + FILE_SUFFIX);
+        try {
+            job.expectedRows = taskRepository.countViews(TaskSpecifications.visibleTo(user), job.includeHistory);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(part), GZIP_BUFFER_SIZE);
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                taskService.exportTasksToCsv(writer, user, job.includeHistory, rows -> job.rows = rows);
+            }
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            job.size = Files.size(file);
+            job.file = file;
+            job.finish(JobState.COMPLETED, null);
+            meterRegistry.counter("taskmanager.export.jobs", "result", "completed").increment();
+            log.info("Export {} for {} wrote {} rows, {} bytes compressed, in {} ms", job.id, user.getUsername(),
+                    job.rows, job.size, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(part);
+            job.finish(JobState.FAILED, "Export failed");
+            meterRegistry.counter("taskmanager.export.jobs", "result", "failed").increment();
+            log.error("Export {} for {} failed", job.id, user.getUsername(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.export.cleanup-interval:5m}")
+    public void removeExpired() {
+        jobs.removeExpired(retention, job -> {
+            // A download still in progress keeps reading through its open file handle
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class Job extends BackgroundJobs.Job {
+
+        private final boolean includeHistory;
+
+        private volatile long rows;
+
+        private volatile Long expectedRows;
+
+        private volatile Long size;
+
+        private volatile Path file;
+
+        private Job(Long ownerId, boolean includeHistory) {
+            super(ownerId);
+            this.includeHistory = includeHistory;
+        }
+
+        private ExportJobStatus status() {
+            return new ExportJobStatus(id, state, includeHistory, rows, expectedRows, size, createdDate,
+                    completedDate, error);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskView;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes tasks as newline-delimited JSON, one TaskView per line, through a
+ * single generator so rows are encoded straight into its buffer.
+ */
+final class TaskNdjsonWriter implements TaskRowWriter {
+
+    private final JsonGenerator generator;
+
+    private final ObjectWriter writer;
+
+    TaskNdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are ended explicitly instead of separating root values with a space
+        this.generator.setRootValueSeparator(null);
+        // The default flush after every value would push each row to the client on its own
+        this.writer = objectMapper.writerFor(TaskView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.CLOSE_CLOSEABLE);
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void writeRow(TaskView task) throws IOException {
+        writer.writeValue(generator, task);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
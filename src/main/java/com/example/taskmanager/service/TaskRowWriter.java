@@ -0,0 +1,26 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskView;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * One export format. Rows arrive one at a time from the streamed query, so an
+ * implementation holds at most a bounded batch in memory. finish writes any
+ * trailer once all rows are in; close releases the writer's own resources and
+ * leaves the underlying stream open.
+ */
+interface TaskRowWriter extends Closeable {
+
+    void writeHeader() throws IOException;
+
+    void writeRow(TaskView task) throws IOException;
+
+    default void finish() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over task titles and descriptions, used where the
+ * database has no full-text search (H2). Each term maps to the tasks containing
+ * it with a weighted term frequency; a query matches the tasks containing every
+ * term and ranks them by TF-IDF, title occurrences counting more than
+ * description ones.
+ */
+final class TaskSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // Terms per task, so an update or delete can find the postings to remove
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(long id, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+            documents.put(id, frequencies.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Set<String> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> tasks = postings.get(term);
+            tasks.remove(id);
+            if (tasks.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of every task containing all query terms, best match first and newest first among equal scores
+    List<Long> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> tasks = postings.get(term);
+                if (tasks == null) {
+                    return List.of();
+                }
+                matches.add(tasks);
+            }
+            // Intersect starting from the rarest term, which also bounds the work
+            matches.sort(Comparator.comparingInt(Map::size));
+
+            double total = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            matches.get(0).forEach((id, frequency) -> scores.put(id, 0.0));
+            for (Map<Long, Integer> tasks : matches) {
+                double idf = Math.log(1 + total / tasks.size());
+                scores.entrySet().removeIf(entry -> {
+                    Integer frequency = tasks.get(entry.getKey());
+                    if (frequency == null) {
+                        return true;
+                    }
+                    entry.setValue(entry.getValue() + frequency * idf);
+                    return false;
+                });
+            }
+
+            List<Long> ids = new ArrayList<>(scores.keySet());
+            ids.sort(Comparator.<Long>comparingDouble(scores::get).reversed()
+                    .thenComparing(Comparator.reverseOrder()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.dto.TaskPage;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Ranked full-text search over the tasks a user can see. On PostgreSQL the
+ * query runs against the tsvector column and its GIN index; on other databases
+ * an in-process {@link TaskSearchIndex} is built at startup and kept current
+ * from committed task changes.
+ */
+@Service
+public class TaskSearchService {
+
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+
+    // Ranked candidates are checked for visibility this many at a time
+    private static final int VISIBILITY_CHUNK = 500;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    private final TransactionTemplate readTransaction;
+
+    private volatile boolean fullText;
+
+    public TaskSearchService(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            fullText = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        if (fullText) {
+            log.info("Task search uses PostgreSQL full-text search");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskView> tasks = taskRepository.streamViews(null)) {
+                tasks.forEach(task -> index.put(task.getId(), task.getTitle(), task.getDescription()));
+            }
+        });
+        log.info("Built in-memory task search index over {} tasks in {} ms", index.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Only committed changes reach the index, so a rolled back task never becomes searchable
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (fullText) {
+            return;
+        }
+        // Archived tasks leave the index too: search covers live tasks only
+        if (event.getType().removesTask()) {
+            index.remove(event.getId());
+        } else {
+            index.put(event.getId(), event.getTask().getTitle(), event.getTask().getDescription());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage<TaskView> search(User user, String query, String cursor, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > TaskService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + TaskService.MAX_PAGE_SIZE);
+        }
+        int offset = cursor == null || cursor.isEmpty() ? 0 : decodeCursor(cursor);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // One extra row tells whether another page exists
+        List<TaskView> rows = fullText
+                ? searchDatabase(user, query, offset, limit + 1)
+                : searchIndex(user, query, offset, limit + 1);
+        sample.stop(meterRegistry.timer("taskmanager.tasks.search", "engine", fullText ? "postgres" : "memory"));
+
+        if (rows.size() <= limit) {
+            return new TaskPage<>(rows, null);
+        }
+        return new TaskPage<>(rows.subList(0, limit), encodeCursor(offset + limit));
+    }
+
+    private List<TaskView> searchDatabase(User user, String query, int offset, int count) {
+        List<Long> ids = taskRepository.searchIds(query, user, offset, count);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(ids, taskRepository.findViews(TaskSpecifications.idIn(ids), ids.size()));
+    }
+
+    // Visibility is resolved by the database, a chunk of ranked candidates at a time
+    private List<TaskView> searchIndex(User user, String query, int offset, int count) {
+        List<Long> ranked = index.search(query);
+        List<TaskView> rows = new ArrayList<>(count);
+        int skip = offset;
+        for (int from = 0; from < ranked.size() && rows.size() < count; from += VISIBILITY_CHUNK) {
+            List<Long> chunk = ranked.subList(from, Math.min(from + VISIBILITY_CHUNK, ranked.size()));
+            List<TaskView> visible = inRankOrder(chunk, taskRepository.findViews(
+                    TaskSpecifications.visibleTo(user).and(TaskSpecifications.idIn(chunk)), chunk.size()));
+            for (TaskView task : visible) {
+                if (skip > 0) {
+                    skip--;
+                } else if (rows.size() < count) {
+                    rows.add(task);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<TaskView> inRankOrder(List<Long> ids, List<TaskView> views) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<TaskView> ordered = new ArrayList<>(views);
+        ordered.sort(Comparator.comparingInt(view -> rank.get(view.getId())));
+        return ordered;
+    }
+
+    // Relevance order has no stable keyset, so the cursor carries the offset of the next page
+    private static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new IllegalArgumentException();
+            }
+            return offset;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -1,17 +1,57 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.dto.BulkOutcome;
+import com.example.taskmanager.dto.ExportFormat;
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPage;
+import com.example.taskmanager.dto.TaskView;
 import com.example.taskmanager.entity.Task;
 import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.repository.TaskArchiveRepository;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
+    private static final int EXPORT_PROGRESS_ROWS = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -21,7 +61,25 @@ public class TaskService {
     @Autowired
     private com.example.taskmanager.repository.UserRepository userRepository;
 
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    // Spring's mapper, so NDJSON rows match the JSON the task API returns
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Transactional
     public Task createTask(Task task, com.example.taskmanager.entity.User creator) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         task.setCreatedDate(LocalDateTime.now(java.time.ZoneOffset.UTC));
         task.setStatus(TaskStatus.PENDING);
         task.setCreateUserId(creator.getId());
@@ -32,88 +90,329 @@ public class TaskService {
         }
 
         // Validate Assignment Rules
-        validateAssignment(task, creator);
+        com.example.taskmanager.entity.User assignee = validateAssignment(task, creator);
 
         Task savedTask = taskRepository.save(task);
 
-        // Fetch full entities for email
-        savedTask = taskRepository.findById(savedTask.getId()).orElse(savedTask);
+        // Associations are read-only mappings, populate them for the notification instead of re-reading the row
+        savedTask.setCreateUser(creator);
+        savedTask.setAssignedUser(assignee);
 
         emailService.sendTaskNotification(savedTask);
+        publishChange(TaskChangeEvent.Type.CREATED, savedTask, null);
 
+        sample.stop(meterRegistry.timer("taskmanager.tasks.create", "mode", "single"));
+        meterRegistry.counter("taskmanager.tasks.created").increment();
         return savedTask;
     }
 
-    private void validateAssignment(Task task, com.example.taskmanager.entity.User creator) {
+    /**
+     * Creates many tasks in one transaction: assignees are validated against a single
+     * preloaded lookup, rows go out as JDBC batch inserts using pooled sequence ids, and
+     * all notifications are queued with one batched outbox insert.
+     */
+    @Transactional
+    public List<Task> createTasks(List<Task> tasks, com.example.taskmanager.entity.User creator) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        if (tasks.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " tasks can be created per batch");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Long, com.example.taskmanager.entity.User> assignees = loadAssignees(tasks, creator);
+        LocalDateTime now = LocalDateTime.now(java.time.ZoneOffset.UTC);
+        for (Task task : tasks) {
+            task.setId(null);
+            task.setCreatedDate(now);
+            task.setStatus(TaskStatus.PENDING);
+            task.setCreateUserId(creator.getId());
+            if (task.getAssignedUserId() == null) {
+                task.setAssignedUserId(creator.getId());
+            }
+            task.setCreateUser(creator);
+            task.setAssignedUser(assignees.getOrDefault(task.getAssignedUserId(), creator));
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        emailService.sendTaskNotifications(savedTasks);
+        savedTasks.forEach(task -> publishChange(TaskChangeEvent.Type.CREATED, task, null));
+
+        sample.stop(meterRegistry.timer("taskmanager.tasks.create", "mode", "batch"));
+        meterRegistry.counter("taskmanager.tasks.created").increment(savedTasks.size());
+        return savedTasks;
+    }
+
+    // Same rules as validateAssignment, resolved with one query for the whole batch
+    private Map<Long, com.example.taskmanager.entity.User> loadAssignees(List<Task> tasks,
+            com.example.taskmanager.entity.User creator) {
+        Set<Long> assigneeIds = new HashSet<>();
+        for (Task task : tasks) {
+            Long assigneeId = task.getAssignedUserId();
+            if (assigneeId != null && !assigneeId.equals(creator.getId())) {
+                assigneeIds.add(assigneeId);
+            }
+        }
+        if (assigneeIds.isEmpty()) {
+            return Map.of();
+        }
+        if (creator.getRole() == com.example.taskmanager.entity.Role.USER) {
+            throw new RuntimeException("Users can only assign tasks to themselves.");
+        }
+
+        Map<Long, com.example.taskmanager.entity.User> assignees = new HashMap<>();
+        for (com.example.taskmanager.entity.User assignee : userRepository.findAllById(assigneeIds)) {
+            if (creator.getRole() == com.example.taskmanager.entity.Role.MANAGER
+                    && (assignee.getManager() == null || !assignee.getManager().getId().equals(creator.getId()))) {
+                throw new RuntimeException("Managers can only assign tasks to their own users.");
+            }
+            assignees.put(assignee.getId(), assignee);
+        }
+        if (assignees.size() != assigneeIds.size()) {
+            throw new RuntimeException("Assignee not found");
+        }
+        return assignees;
+    }
+
+    private com.example.taskmanager.entity.User validateAssignment(Task task,
+            com.example.taskmanager.entity.User creator) {
         Long assigneeId = task.getAssignedUserId();
         if (assigneeId == null || assigneeId.equals(creator.getId()))
-            return; // Self-assignment always ok
+            return creator; // Self-assignment always ok
 
         if (creator.getRole() == com.example.taskmanager.entity.Role.USER) {
             throw new RuntimeException("Users can only assign tasks to themselves.");
         }
 
+        com.example.taskmanager.entity.User assignee = userRepository.findById(assigneeId)
+                .orElseThrow(() -> new RuntimeException("Assignee not found"));
+
         if (creator.getRole() == com.example.taskmanager.entity.Role.MANAGER) {
             // Check if assignee is managed by this manager
-            com.example.taskmanager.entity.User assignee = userRepository.findById(assigneeId)
-                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
-
             if (assignee.getManager() == null || !assignee.getManager().getId().equals(creator.getId())) {
                 throw new RuntimeException("Managers can only assign tasks to their own users.");
             }
         }
+        return assignee;
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks(com.example.taskmanager.entity.User user) {
-        if (user.getRole() == com.example.taskmanager.entity.Role.ADMIN) {
-            return taskRepository.findAll();
-        } else if (user.getRole() == com.example.taskmanager.entity.Role.MANAGER) {
-            return taskRepository.findTasksForManager(user.getId());
-        } else {
-            return taskRepository.findTasksForUser(user.getId());
+        return listTimer(user).record(() -> {
+            if (user.getRole() == com.example.taskmanager.entity.Role.ADMIN) {
+                return taskRepository.findAll();
+            } else if (user.getRole() == com.example.taskmanager.entity.Role.MANAGER) {
+                return taskRepository.findTasksForManager(user.getId());
+            } else {
+                return taskRepository.findTasksForUser(user.getId());
+            }
+        });
+    }
+
+    // Visibility rules differ per role, and so does the cost of the query behind them
+    private Timer listTimer(com.example.taskmanager.entity.User user) {
+        return meterRegistry.timer("taskmanager.tasks.list", "role", String.valueOf(user.getRole()));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage<TaskView> getTasksPage(com.example.taskmanager.entity.User user, TaskFilter filter, String cursor,
+            int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Specification<Task> spec = TaskSpecifications.visibleTo(user).and(TaskSpecifications.matching(filter));
+        if (cursor != null && !cursor.isEmpty()) {
+            Task last = decodeCursor(cursor);
+            spec = spec.and(TaskSpecifications.before(last.getCreatedDate(), last.getId()));
+        }
+
+        // Fetch one extra row to know whether another page exists, without a count query
+        List<TaskView> rows = taskRepository.findViews(spec, limit + 1, filter.isIncludeHistory());
+        sample.stop(listTimer(user));
+        if (rows.size() <= limit) {
+            return new TaskPage<>(rows, null);
+        }
+        List<TaskView> items = rows.subList(0, limit);
+        return new TaskPage<>(items, encodeCursor(items.get(limit - 1)));
+    }
+
+    private static String encodeCursor(TaskView task) {
+        String raw = task.getCreatedDate() + "|" + task.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Task decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            Task last = new Task();
+            last.setCreatedDate(LocalDateTime.parse(raw.substring(0, sep)));
+            last.setId(Long.parseLong(raw.substring(sep + 1)));
+            return last;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
     }
 
+    @Transactional
     public Task updateTaskStatus(Long id, TaskStatus status) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Task task = taskRepository.lockById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskStatus previousStatus = task.getStatus();
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        publishChange(TaskChangeEvent.Type.UPDATED, task, previousStatus);
+        sample.stop(meterRegistry.timer("taskmanager.tasks.status.update", "mode", "single"));
+        return savedTask;
     }
 
-    public void exportTasksToCsv(java.io.Writer writer, com.example.taskmanager.entity.User user)
-            throws java.io.IOException {
-        List<Task> tasks = getAllTasks(user);
-        try (java.io.PrintWriter printer = new java.io.PrintWriter(writer)) {
-            writer.write('\uFEFF'); // Write BOM for Excel
-            printer.println("Task ID,Title,Description,Status,Priority,Assigned User,Created Date");
-            for (Task task : tasks) {
-                printer.println(String.format("%d,%s,%s,%s,%s,%s,%s",
-                        task.getId(),
-                        escapeSpecialCharacters(task.getTitle()),
-                        escapeSpecialCharacters(task.getDescription()),
-                        task.getStatus(),
-                        task.getPriority(),
-                        task.getAssignedUser() != null ? escapeSpecialCharacters(task.getAssignedUser().getUsername())
-                                : "Unassigned",
-                        task.getCreatedDate()));
+    /**
+     * Applies one status to many tasks: a single locking select resolves which of the
+     * ids the caller can see, then a single set-based UPDATE changes them. The rows stay
+     * locked in between, so the statuses read are the ones the UPDATE replaces.
+     */
+    @Transactional
+    public Map<Long, BulkOutcome> updateTaskStatuses(List<Long> ids, TaskStatus status,
+            com.example.taskmanager.entity.User caller) {
+        if (ids == null || ids.isEmpty() || status == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids and status are required");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " tasks can be updated per request");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<Long> locked = taskRepository.lockIds(
+                TaskSpecifications.visibleTo(caller).and(TaskSpecifications.idIn(requested)));
+        List<TaskView> visible = locked.isEmpty() ? List.of()
+                : taskRepository.findViews(TaskSpecifications.idIn(locked), locked.size());
+
+        Map<Long, BulkOutcome> outcomes = new LinkedHashMap<>();
+        requested.forEach(id -> outcomes.put(id, BulkOutcome.NOT_FOUND));
+        List<Long> changed = new ArrayList<>();
+        List<TaskView> changedViews = new ArrayList<>();
+        for (TaskView task : visible) {
+            if (task.getStatus() == status) {
+                outcomes.put(task.getId(), BulkOutcome.UNCHANGED);
+            } else {
+                outcomes.put(task.getId(), BulkOutcome.UPDATED);
+                changed.add(task.getId());
+                changedViews.add(task);
             }
         }
+
+        if (!changed.isEmpty()) {
+            taskRepository.updateStatus(changed, status);
+            publishStatusChanges(changedViews, status);
+        }
+        sample.stop(meterRegistry.timer("taskmanager.tasks.status.update", "mode", "bulk"));
+        meterRegistry.counter("taskmanager.tasks.status.updated").increment(changed.size());
+        return outcomes;
     }
 
-    private String escapeSpecialCharacters(String data) {
-        if (data == null) {
-            return "";
+    @Transactional(readOnly = true)
+    public long exportTasksToCsv(java.io.Writer writer, com.example.taskmanager.entity.User user)
+            throws java.io.IOException {
+        return exportTasksToCsv(writer, user, false);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTasksToCsv(java.io.Writer writer, com.example.taskmanager.entity.User user,
+            boolean includeHistory) throws java.io.IOException {
+        return exportTasksToCsv(writer, user, includeHistory, rows -> {
+        });
+    }
+
+    // progress is told the number of rows written so far, every EXPORT_PROGRESS_ROWS rows and at the end
+    @Transactional(readOnly = true)
+    public long exportTasksToCsv(java.io.Writer writer, com.example.taskmanager.entity.User user,
+            boolean includeHistory, java.util.function.LongConsumer progress) throws java.io.IOException {
+        long start = System.nanoTime();
+        Utf8CountingWriter counter = new Utf8CountingWriter(writer);
+        TaskCsvWriter csv = new TaskCsvWriter(new java.io.BufferedWriter(counter, EXPORT_BUFFER_SIZE));
+        long rows = writeRows(csv, user, includeHistory, progress);
+        recordExport(user, ExportFormat.CSV, rows, counter.getBytes(), start);
+        return rows;
+    }
+
+    /**
+     * Streams the tasks visible to user to output in the given format. The output
+     * is flushed but left open; for CSV_GZIP the gzip trailer is written, so the
+     * stream holds a complete file.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(java.io.OutputStream output, com.example.taskmanager.entity.User user,
+            boolean includeHistory, ExportFormat format) throws java.io.IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counter = new CountingOutputStream(output);
+        java.io.OutputStream out = format.isCompressed()
+                ? new java.util.zip.GZIPOutputStream(counter, EXPORT_BUFFER_SIZE)
+                : new java.io.BufferedOutputStream(counter, EXPORT_BUFFER_SIZE);
+        long rows = writeRows(rowWriter(format, out), user, includeHistory, written -> {
+        });
+        if (out instanceof java.util.zip.GZIPOutputStream gzip) {
+            gzip.finish();
         }
-        String escapedData = data.replaceAll("\\R", " ");
-        if (data.contains(",") || data.contains("\"") || data.contains("'")) {
-            data = data.replace("\"", "\"\"");
-            escapedData = "\"" + data + "\"";
+        out.flush();
+        recordExport(user, format, rows, counter.getBytes(), start);
+        return rows;
+    }
+
+    private TaskRowWriter rowWriter(ExportFormat format, java.io.OutputStream out) throws java.io.IOException {
+        return switch (format) {
+            case CSV, CSV_GZIP -> new TaskCsvWriter(new java.io.BufferedWriter(
+                    new java.io.OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE));
+            case NDJSON -> new TaskNdjsonWriter(objectMapper, out);
+            case ARROW -> new TaskArrowWriter(out);
+        };
+    }
+
+    private long writeRows(TaskRowWriter writer, com.example.taskmanager.entity.User user, boolean includeHistory,
+            java.util.function.LongConsumer progress) throws java.io.IOException {
+        long rows = 0;
+        try (writer;
+                Stream<TaskView> tasks = taskRepository.streamViews(TaskSpecifications.visibleTo(user),
+                        includeHistory)) {
+            writer.writeHeader();
+            for (TaskView task : (Iterable<TaskView>) tasks::iterator) {
+                writer.writeRow(task);
+                rows++;
+                if (rows % EXPORT_PROGRESS_ROWS == 0) {
+                    progress.accept(rows);
+                }
+            }
+            writer.finish();
         }
-        return escapedData;
+        progress.accept(rows);
+        return rows;
     }
 
+    private void recordExport(com.example.taskmanager.entity.User user, ExportFormat format, long rows, long bytes,
+            long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        String formatTag = format.getParameter();
+        meterRegistry.timer("taskmanager.tasks.export", "role", String.valueOf(user.getRole()), "format", formatTag)
+                .record(elapsedNanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("taskmanager.tasks.export.rows").baseUnit("rows").tag("format", formatTag)
+                .register(meterRegistry).record(rows);
+        DistributionSummary.builder("taskmanager.tasks.export.size").baseUnit("bytes").tag("format", formatTag)
+                .register(meterRegistry).record(bytes);
+
+        long elapsedMs = Math.max(1, elapsedNanos / 1_000_000);
+        log.info("Exported {} tasks as {} for {} in {} ms ({} rows/s, {} bytes)", rows, formatTag,
+                user.getUsername(), elapsedMs, rows * 1000 / elapsedMs, bytes);
+    }
+
+    @Transactional
     public void deleteTask(Long id, com.example.taskmanager.entity.User requester) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        Task task = taskRepository.lockById(id).orElseThrow(() -> new RuntimeException("Task not found"));
 
         // Permission Check: Admin or Creator only
         boolean isAdmin = requester.getRole() == com.example.taskmanager.entity.Role.ADMIN;
@@ -126,5 +425,99 @@ public class TaskService {
         }
 
         taskRepository.delete(task);
+        publishChange(TaskChangeEvent.Type.DELETED, task, task.getStatus());
+    }
+
+    /**
+     * Moves up to batchSize closed tasks created before cutoff to the archive, in
+     * one transaction: the rows are locked, copied with a set-based INSERT ... SELECT
+     * and deleted. Tasks locked by another writer are skipped until the next run.
+     * Returns the number of tasks archived.
+     */
+    @Transactional
+    public int archiveClosedTasks(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = taskArchiveRepository.lockClosedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<TaskView> views = taskRepository.findViews(TaskSpecifications.idIn(ids), ids.size());
+        taskArchiveRepository.copyFromTasks(ids, LocalDateTime.now(java.time.ZoneOffset.UTC));
+        taskArchiveRepository.deleteFromTasks(ids);
+
+        Map<Long, Long> managerIds = creatorManagerIds(views);
+        for (TaskView view : views) {
+            eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.ARCHIVED, view,
+                    managerIds.get(view.getCreateUserId())));
+        }
+        meterRegistry.counter("taskmanager.tasks.archived").increment(ids.size());
+        return ids.size();
+    }
+
+    /**
+     * Hands over up to batchSize tasks assigned to userId, in one transaction, for
+     * offboarding. Pending tasks go to successorId and approved or rejected ones
+     * are left unassigned. The rows are locked and changed with one UPDATE.
+     * Returns the number of tasks handed over, 0 once none are left.
+     */
+    @Transactional
+    public int handOverTasks(Long userId, Long successorId, int batchSize) {
+        List<Long> ids = taskRepository.lockAssignedTo(userId, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        com.example.taskmanager.entity.User successor = userRepository.findById(successorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Successor not found"));
+        List<TaskView> views = taskRepository.findViews(TaskSpecifications.idIn(ids), ids.size());
+        Map<Long, Long> managerIds = creatorManagerIds(views);
+        taskCounterService.handOver(views, managerIds, userId, successorId);
+        taskRepository.handOver(ids, successorId);
+
+        for (TaskView view : views) {
+            boolean open = view.getStatus() == TaskStatus.PENDING;
+            view.setAssignedUserId(open ? successorId : null);
+            view.setAssignedUser(open ? new TaskView.UserRef(successorId, successor.getUsername()) : null);
+            // No previous status: the counts were moved above, so the event only tells clients
+            TaskChangeEvent event = TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, view, null,
+                    managerIds.get(view.getCreateUserId()));
+            // The former assignee's list changes as well
+            event.getAudience().add(userId);
+            eventPublisher.publishEvent(event);
+        }
+        meterRegistry.counter("taskmanager.tasks.handed.over").increment(ids.size());
+        return ids.size();
+    }
+
+    // Counted by TaskCounterService in this transaction, delivered to subscribers by TaskEventService after commit
+    private void publishChange(TaskChangeEvent.Type type, Task task, TaskStatus previousStatus) {
+        com.example.taskmanager.entity.User creator = task.getCreateUser();
+        Long creatorManagerId = creator != null && creator.getManager() != null ? creator.getManager().getId() : null;
+        eventPublisher.publishEvent(TaskChangeEvent.of(type, TaskView.of(task), previousStatus, creatorManagerId));
+    }
+
+    private void publishStatusChanges(List<TaskView> views, TaskStatus status) {
+        Map<Long, Long> managerIds = creatorManagerIds(views);
+        for (TaskView view : views) {
+            TaskStatus previousStatus = view.getStatus();
+            view.setStatus(status);
+            eventPublisher.publishEvent(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, view, previousStatus,
+                    managerIds.get(view.getCreateUserId())));
+        }
+    }
+
+    // The views carry creator ids only, so resolve the creators' managers with one lookup
+    private Map<Long, Long> creatorManagerIds(List<TaskView> views) {
+        Set<Long> creatorIds = new HashSet<>();
+        for (TaskView view : views) {
+            if (view.getCreateUserId() != null) {
+                creatorIds.add(view.getCreateUserId());
+            }
+        }
+        Map<Long, Long> managerIds = new HashMap<>();
+        for (com.example.taskmanager.entity.User creator : userRepository.findAllById(creatorIds)) {
+            if (creator.getManager() != null) {
+                managerIds.put(creator.getId(), creator.getManager().getId());
+            }
+        }
+        return managerIds;
     }
 }
@@ -0,0 +1,161 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskScopeVersion;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskScopeVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Per-scope version counters backing the ETag of the task list. A client's
+ * validator only needs the version of its own scope, so a conditional GET is
+ * answered with a primary-key lookup instead of the visibility query.
+ */
+@Service
+public class TaskVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskVersionService.class);
+
+    // Marker in the pending set for "bump every scope"
+    private static final Long ALL_SCOPES = -1L;
+
+    @Autowired
+    private TaskScopeVersionRepository versionRepository;
+
+    private final TransactionTemplate bumpTransaction;
+
+    public TaskVersionService(PlatformTransactionManager transactionManager) {
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the ETag for a query over the user's visible tasks, or null when
+     * the scope has no counter yet. Callers must read it before running the query:
+     * a write that lands in between then only makes the tag older than the body.
+     * Read-only, so it comes from the same database as the body when a replica
+     * is configured.
+     */
+    @Transactional(readOnly = true)
+    public String etag(User user, Object... query) {
+        Long scope = scopeOf(user);
+        Long version = versionRepository.findVersion(scope).orElse(null);
+        if (version == null) {
+            return null;
+        }
+        return "\"" + scope + "-" + version + "-" + queryDigest(query) + "\"";
+    }
+
+    // SHA-256 of the length-prefixed query parts, so two different queries cannot share a tag
+    private static String queryDigest(Object... query) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object part : query) {
+            String value = String.valueOf(part);
+            canonical.append(value.length()).append(':').append(value);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Long scopeOf(User user) {
+        return user.getRole() == Role.ADMIN ? TaskScopeVersion.GLOBAL_SCOPE : user.getId();
+    }
+
+    @Transactional
+    public void register(Long userId) {
+        if (!versionRepository.existsById(userId)) {
+            versionRepository.save(new TaskScopeVersion(userId));
+        }
+    }
+
+    // Backfills counters for users that existed before this table did
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingScopes() {
+        try {
+            bumpTransaction.executeWithoutResult(status -> {
+                if (!versionRepository.existsById(TaskScopeVersion.GLOBAL_SCOPE)) {
+                    versionRepository.save(new TaskScopeVersion(TaskScopeVersion.GLOBAL_SCOPE));
+                }
+                versionRepository.createMissingUserScopes();
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Task scope versions were created concurrently: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        Set<Long> scopes = new HashSet<>(event.getAudience());
+        scopes.add(TaskScopeVersion.GLOBAL_SCOPE);
+        bumpAfterCommit(scopes);
+    }
+
+    // For changes that can alter visibility in ways not captured by a single task's audience
+    public void invalidateAll() {
+        bumpAfterCommit(Set.of(ALL_SCOPES));
+    }
+
+    /**
+     * Bumps are collected per transaction and applied in one short statement after
+     * commit, so the hot global row is never locked for the length of a writer's
+     * transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private void bumpAfterCommit(Set<Long> scopes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(scopes);
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> collected = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskVersionService.this);
+                    if (status == STATUS_COMMITTED) {
+                        bump(collected);
+                    }
+                }
+            });
+            pending = collected;
+        }
+        pending.addAll(scopes);
+    }
+
+    private void bump(Set<Long> scopes) {
+        bumpTransaction.executeWithoutResult(status -> {
+            if (scopes.contains(ALL_SCOPES)) {
+                versionRepository.bumpAll();
+            } else {
+                versionRepository.bump(scopes);
+            }
+        });
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.config.CacheConfig;
+import com.example.taskmanager.entity.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Keeps the User second-level cache and the principal cache consistent across
+ * nodes. A writer queues a PostgreSQL NOTIFY in its own transaction, so other
+ * nodes only hear about a change once it has committed; every node LISTENs on a
+ * dedicated connection and evicts the user named in the message. On other
+ * databases (single-node H2) there is nobody to tell.
+ */
+@Service
+public class UserCacheInvalidator {
+
+    static final String CHANNEL = "taskmanager_user_cache";
+
+    // Sent in place of the id, which is otherwise always numeric, to evict every user
+    static final String ALL_USERS = "*";
+
+    private static final Logger log = LoggerFactory.getLogger(UserCacheInvalidator.class);
+
+    private static final int POLL_MILLIS = 5_000;
+
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    // Lets a node skip its own messages: Hibernate already updated its cache on commit
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private volatile boolean postgres;
+
+    private volatile Thread listener;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        if (!postgres) {
+            return;
+        }
+        Thread thread = new Thread(this::listen, "user-cache-listener");
+        thread.setDaemon(true);
+        listener = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = listener;
+        listener = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Call inside the transaction that changes the user, or after it committed.
+     * A NOTIFY issued in a transaction is only delivered if that transaction commits.
+     */
+    public void userChanged(User user) {
+        if (!postgres) {
+            return;
+        }
+        entityManager.createNativeQuery("SELECT pg_notify(:channel, :payload)")
+                .setParameter("channel", CHANNEL)
+                .setParameter("payload", nodeId + "|" + user.getId() + "|" + user.getUsername())
+                .getSingleResult();
+    }
+
+    // For bulk updates that touch an unknown number of users, such as unlinking a manager's reports
+    public void allUsersChanged() {
+        if (!postgres) {
+            return;
+        }
+        entityManager.createNativeQuery("SELECT pg_notify(:channel, :payload)")
+                .setParameter("channel", CHANNEL)
+                .setParameter("payload", nodeId + "|" + ALL_USERS + "|" + ALL_USERS)
+                .getSingleResult();
+    }
+
+    // One bad message must not end the listener, or this node would stop invalidating for good
+    void deliver(String payload) {
+        try {
+            onNotification(payload);
+        } catch (RuntimeException e) {
+            log.error("Could not apply user cache invalidation '{}'", payload, e);
+        }
+    }
+
+    void onNotification(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        if (ALL_USERS.equals(parts[1])) {
+            evictAll();
+            return;
+        }
+        org.hibernate.Cache secondLevel = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        secondLevel.evictEntityData(User.class, Long.valueOf(parts[1]));
+        // Cached username lookups may now point at a renamed, deleted or newly created user
+        secondLevel.evictDefaultQueryRegion();
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        if (principals != null) {
+            principals.evict(parts[2]);
+        }
+    }
+
+    private void listen() {
+        while (listener == Thread.currentThread()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                    Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                // Changes made while we were not listening are unknown, so start from empty caches
+                evictAll();
+                log.info("Listening for user cache invalidations on {}", CHANNEL);
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (listener == Thread.currentThread()) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (listener != Thread.currentThread()) {
+                    return;
+                }
+                if (e instanceof SQLException) {
+                    log.warn("User cache listener lost its connection, reconnecting: {}", e.getMessage());
+                } else {
+                    log.error("User cache listener failed, reconnecting", e);
+                }
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void evictAll() {
+        org.hibernate.Cache secondLevel = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        secondLevel.evictEntityData(User.class);
+        secondLevel.evictDefaultQueryRegion();
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        if (principals != null) {
+            principals.clear();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.JobState;
+import com.example.taskmanager.dto.OffboardingJobStatus;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Removes users who still have tasks assigned, however many. A background job
+ * hands the tasks over to a successor in batches, each batch committing on its
+ * own, then deletes the user with UserService.deleteUser. Jobs are
+ * {@link BackgroundJobs}, like task exports.
+ */
+@Service
+public class UserOffboardingService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOffboardingService.class);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadPoolTaskExecutorBuilder executorBuilder;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${taskmanager.users.offboarding.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${taskmanager.users.offboarding.concurrency:1}")
+    private int concurrency = 1;
+
+    @Value("${taskmanager.users.offboarding.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    private BackgroundJobs<Job> jobs;
+
+    @PostConstruct
+    public void start() {
+        jobs = new BackgroundJobs<>(executorBuilder, environment, "user-offboarding-", concurrency,
+                "Offboarding job not found");
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.shutdown();
+    }
+
+    /**
+     * Checks the request up front, so a rejected one fails the call rather than
+     * the job: the modifier must be allowed to delete the user, and a manager can
+     * only hand tasks to themselves or to a direct report, the users they can
+     * assign tasks to.
+     */
+    public OffboardingJobStatus submit(Long userId, Long successorId, User modifier) {
+        User target = userService.findRemovableUser(userId, modifier);
+        if (successorId == null || successorId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "reassignTo must name another user");
+        }
+        User successor = userRepository.findById(successorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Successor not found"));
+        if (modifier.getRole() == Role.MANAGER && !successor.getId().equals(modifier.getId())
+                && (successor.getManager() == null || !successor.getManager().getId().equals(modifier.getId()))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Managers can only hand tasks to themselves or their own users.");
+        }
+        Job job = new Job(modifier.getId(), userId, successorId);
+        if (!jobs.submit(job, userId, 1, started -> run(started, modifier))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "User " + target.getUsername() + " is already being offboarded");
+        }
+        meterRegistry.counter("taskmanager.users.offboarding", "result", "submitted").increment();
+        return job.status();
+    }
+
+    public OffboardingJobStatus getStatus(String id, User user) {
+        return jobs.find(id, user).status();
+    }
+
+    private void run(Job job, User modifier) {
+        long start = System.currentTimeMillis();
+        try {
+            job.expectedTasks = taskRepository.countByAssignedUserId(job.userId);
+            // Until a batch comes back empty, since tasks may still be assigned while the job runs
+            int handed;
+            do {
+                handed = taskService.handOverTasks(job.userId, job.successorId, batchSize);
+                job.tasks += handed;
+            } while (handed > 0);
+            userService.deleteUser(job.userId, modifier);
+            job.finish(JobState.COMPLETED, null);
+            meterRegistry.counter("taskmanager.users.offboarding", "result", "completed").increment();
+            log.info("Offboarded user {}: {} tasks handed over to user {} in {} ms", job.userId, job.tasks,
+                    job.successorId, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            job.finish(JobState.FAILED, e instanceof ResponseStatusException status ? status.getReason()
+                    : "Offboarding failed");
+            meterRegistry.counter("taskmanager.users.offboarding", "result", "failed").increment();
+            log.error("Offboarding user {} failed after {} tasks", job.userId, job.tasks, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.users.offboarding.cleanup-interval:5m}")
+    public void removeExpired() {
+        jobs.removeExpired(retention);
+    }
+
+    private static final class Job extends BackgroundJobs.Job {
+
+        private final Long userId;
+
+        private final Long successorId;
+
+        private volatile long tasks;
+
+        private volatile Long expectedTasks;
+
+        private Job(Long ownerId, Long userId, Long successorId) {
+            super(ownerId);
+            this.userId = userId;
+            this.successorId = successorId;
+        }
+
+        private OffboardingJobStatus status() {
+            return new OffboardingJobStatus(id, state, userId, successorId, tasks, expectedTasks, createdDate,
+                    completedDate, error);
+        }
+    }
+}
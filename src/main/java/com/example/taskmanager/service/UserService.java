@@ -1,19 +1,28 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.config.CacheConfig;
 import com.example.taskmanager.entity.Role;
 import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskArchiveRepository;
 import com.example.taskmanager.repository.TaskRepository;
 import com.example.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -27,9 +36,31 @@ public class UserService implements UserDetailsService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private UserCacheInvalidator userCacheInvalidator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = meterRegistry.timer("taskmanager.users.lookup", "path", "login")
+                .record(() -> findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return org.springframework.security.core.userdetails.User
@@ -63,18 +94,21 @@ public class UserService implements UserDetailsService {
             // later)
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        user.setPassword(hashPassword(user.getPassword()));
+        User saved = userRepository.save(user);
+        taskVersionService.register(saved.getId());
+        taskCounterService.register(saved.getId());
+        // Other nodes may have cached a failed lookup of this username
+        userCacheInvalidator.userChanged(saved);
+        return saved;
     }
 
     public User updateUser(Long id, User updates, User modifier) {
         User existing = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
 
         // Permission Check
-        if (modifier.getRole() == Role.MANAGER) {
-            if (existing.getManager() == null || !existing.getManager().getId().equals(modifier.getId())) {
-                throw new RuntimeException("Managers can only update their own users.");
-            }
+        if (modifier.getRole() == Role.MANAGER && !isInTeam(modifier, existing)) {
+            throw new RuntimeException("Managers can only update their own users.");
         }
         // Admin can update anyone
 
@@ -82,65 +116,137 @@ public class UserService implements UserDetailsService {
             existing.setEmail(updates.getEmail());
         }
         if (updates.getPassword() != null && !updates.getPassword().isEmpty()) {
-            existing.setPassword(passwordEncoder.encode(updates.getPassword()));
+            existing.setPassword(hashPassword(updates.getPassword()));
         }
 
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        evictPrincipal(existing.getUsername());
+        userCacheInvalidator.userChanged(saved);
+        return saved;
     }
 
+    // BCrypt is deliberately slow, so it dominates user creation and password changes
+    private String hashPassword(String rawPassword) {
+        return meterRegistry.timer("taskmanager.users.password.hash").record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * The users a manager can assign tasks to, which fills the assignee list:
+     * direct reports only, matching task assignment and visibility. Managers
+     * can still update and delete users further down their reporting chain.
+     */
+    @Transactional(readOnly = true)
     public List<User> getManagedUsers(User manager) {
         if (manager.getRole() == Role.ADMIN) {
             return userRepository.findAll();
         } else if (manager.getRole() == Role.MANAGER) {
-            return userRepository.findAll().stream()
-                    .filter(u -> u.getManager() != null && u.getManager().getId().equals(manager.getId()))
-                    .toList();
+            return userRepository.findDirectReports(manager.getId());
         }
         return List.of();
     }
 
+    // Direct reports are checked in memory; deeper levels with a single recursive query
+    private boolean isInTeam(User manager, User user) {
+        if (user.getManager() == null) {
+            return false;
+        }
+        if (user.getManager().getId().equals(manager.getId())) {
+            return true;
+        }
+        return userRepository.countInReportingChain(manager.getId(), user.getId()) > 0;
+    }
+
+    /**
+     * Deletes a user with no tasks assigned, in a fixed number of statements
+     * however many reports and created tasks the user has: reports lose their
+     * manager and created tasks their creator with one bulk UPDATE each. A user
+     * who still has tasks is offboarded through UserOffboardingService instead.
+     */
     @Transactional
     public void deleteUser(Long id, User modifier) {
-        User target = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (modifier.getRole() == Role.MANAGER) {
-            if (target.getManager() == null || !target.getManager().getId().equals(modifier.getId())) {
-                throw new RuntimeException("Managers can only delete their own users.");
-            }
-        }
+        User target = findRemovableUser(id, modifier);
 
         // Feature Change: Prevent deletion if user is assigned to any tasks
-        List<com.example.taskmanager.entity.Task> assignedTasks = taskRepository.findByAssignedUser(target);
-        if (!assignedTasks.isEmpty()) {
+        if (taskRepository.existsByAssignedUserId(id)) {
             throw new org.springframework.web.server.ResponseStatusException(
                     org.springframework.http.HttpStatus.BAD_REQUEST,
                     "Cannot delete user/manager with at least 1 task assigned");
         }
 
         // Cleanup relationships to prevent ConstraintViolationException
-        // 1. Unlink managed users (if any)
-        List<User> managedUsers = userRepository.findByManager(target);
-        for (User u : managedUsers) {
-            u.setManager(null);
-            userRepository.save(u);
+        // 1. Unlink managed users (if any); their cached principals still name the manager
+        List<String> reports = userRepository.findReportUsernames(id);
+        if (!reports.isEmpty()) {
+            userRepository.clearManager(id);
+            reports.forEach(this::evictPrincipal);
+            userCacheInvalidator.allUsersChanged();
         }
 
-        // 2. Assigned tasks cleanup is no longer needed as we block deletion if any
-        // exist.
+        // Created tasks leave the manager's counters before the creator link goes
+        taskCounterService.removeUser(target);
 
-        // 3. Unlink created tasks
-        List<com.example.taskmanager.entity.Task> createdTasks = taskRepository.findByCreateUser(target);
-        for (com.example.taskmanager.entity.Task t : createdTasks) {
-            t.setCreateUser(null);
-            t.setCreateUserId(null);
-            taskRepository.save(t);
-        }
+        // 2. Unlink created tasks
+        taskRepository.unlinkCreator(id);
+
+        // 3. Archived tasks keep their history without the user
+        taskArchiveRepository.unlinkCreator(id);
+        taskArchiveRepository.unlinkAssignee(id);
 
         userRepository.deleteById(id);
+        evictPrincipal(target.getUsername());
+        userCacheInvalidator.userChanged(target);
+        // Team and creator links changed, which alters other users' visible sets
+        taskVersionService.invalidateAll();
+    }
+
+    // Admins may remove anyone, managers only users in their team
+    @Transactional(readOnly = true)
+    public User findRemovableUser(Long id, User modifier) {
+        User target = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (modifier.getRole() == Role.MANAGER && !isInTeam(modifier, target)) {
+            throw new RuntimeException("Managers can only delete their own users.");
+        }
+        return target;
     }
 
+    /**
+     * Resolves the authenticated user on every API request from a bounded TTL
+     * cache. The cache holds an immutable snapshot and each caller gets its own
+     * copy, so one request changing the returned User cannot leak into another.
+     * A cache miss reads the replica when one is configured, falling back to
+     * the primary for users the replica does not have yet.
+     */
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        Cache cache = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        Principal principal = cache != null ? cache.get(username, Principal.class) : null;
+        if (principal == null) {
+            principal = Principal.of(meterRegistry.timer("taskmanager.users.lookup", "path", "principal")
+                    .record(() -> findByUsername(username))
+                    .orElseThrow(() -> new RuntimeException("User not found")));
+            if (cache != null) {
+                cache.put(username, principal);
+            }
+        }
+        return principal.toUser();
+    }
+
+    // A user the replica does not have yet (just created) is looked up again on the primary
+    private Optional<User> findByUsername(String username) {
+        return userRepository.findByUsername(username).or(() -> {
+            // A new read-write transaction, which the replica routing always sends to the primary
+            TransactionTemplate primary = new TransactionTemplate(transactionManager);
+            primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            return primary.execute(status -> userRepository.refreshByUsername(username));
+        });
+    }
+
+    private void evictPrincipal(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        if (cache != null) {
+            cache.evict(username);
+        }
     }
 
     // Initialize default users if not present
@@ -171,4 +277,27 @@ public class UserService implements UserDetailsService {
             userRepository.save(user);
         }
     }
+
+    // What requests read of the principal; the manager is kept by id only, so only direct reports go stale
+    private record Principal(Long id, String username, Role role, String email, Long managerId) {
+
+        static Principal of(User user) {
+            return new Principal(user.getId(), user.getUsername(), user.getRole(), user.getEmail(),
+                    user.getManager() != null ? user.getManager().getId() : null);
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setRole(role);
+            user.setEmail(email);
+            if (managerId != null) {
+                User manager = new User();
+                manager.setId(managerId);
+                user.setManager(manager);
+            }
+            return user;
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.taskmanager.service;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Passes characters through and counts how many bytes they take in UTF-8, so the
+ * export size can be reported without re-encoding. Meant to sit below a
+ * BufferedWriter, where it sees a few large chunks instead of single characters.
+ */
+final class Utf8CountingWriter extends FilterWriter {
+
+    private long bytes;
+
+    Utf8CountingWriter(Writer out) {
+        super(out);
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        out.write(c);
+        bytes += utf8Length((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        out.write(cbuf, off, len);
+        for (int i = off; i < off + len; i++) {
+            bytes += utf8Length(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        out.write(str, off, len);
+        for (int i = off; i < off + len; i++) {
+            bytes += utf8Length(str.charAt(i));
+        }
+    }
+
+    // A surrogate pair encodes to 4 bytes, counted as 2 per half
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+}
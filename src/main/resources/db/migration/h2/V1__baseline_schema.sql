@@ -0,0 +1,46 @@
+-- H2 counterpart of postgresql/V1 (tests and the local load-test profile); also idempotent
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    role       ENUM ('ADMIN', 'MANAGER', 'USER') NOT NULL,
+    email      VARCHAR(255),
+    manager_id BIGINT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id               BIGINT PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    description      VARCHAR(255),
+    status           ENUM ('APPROVED', 'PENDING', 'REJECTED'),
+    priority         ENUM ('P0', 'P1', 'P2', 'P3', 'P4'),
+    assigned_user_id BIGINT REFERENCES users (id),
+    create_user_id   BIGINT REFERENCES users (id),
+    created_date     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            VARCHAR(4000),
+    status          ENUM ('DEAD', 'PENDING', 'SENT') NOT NULL,
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    created_date    TIMESTAMP(6) NOT NULL,
+    sent_date       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS task_scope_versions (
+    scope_id BIGINT PRIMARY KEY,
+    version  BIGINT NOT NULL
+);
+
+-- See postgresql/V1: move the pooled sequences past ids assigned by IDENTITY
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks);
+ALTER SEQUENCE email_outbox_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM email_outbox);
@@ -0,0 +1,8 @@
+-- H2 counterpart of postgresql/V2. H2 has no partial indexes, so the pending-only indexes
+-- are left out.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_creator_created ON tasks (create_user_id, created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created ON tasks (assigned_user_id, created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_created ON tasks (created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_manager_id ON users (manager_id);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at, id);
@@ -0,0 +1,2 @@
+-- Counterpart of postgresql/V3. H2 has no tsvector type; task search on H2 is served by the
+-- in-process index in TaskSearchService, so there is no schema change here.
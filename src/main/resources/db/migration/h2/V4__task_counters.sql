@@ -0,0 +1,10 @@
+-- Task counts per visibility scope (user id, or 0 for the global scope), status and priority.
+-- Tasks without a priority are counted under 'NONE'. Rows are filled by TaskCounterService on
+-- startup for scopes that have none, and are afterwards only incremented and decremented.
+CREATE TABLE task_counters (
+    scope_id   BIGINT      NOT NULL,
+    status     VARCHAR(16) NOT NULL,
+    priority   VARCHAR(16) NOT NULL,
+    task_count BIGINT      NOT NULL,
+    PRIMARY KEY (scope_id, status, priority)
+);
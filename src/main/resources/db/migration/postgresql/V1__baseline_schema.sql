@@ -0,0 +1,51 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Databases created that way
+-- are baselined at version 0 (spring.flyway.baseline-on-migrate) and still run this script,
+-- so every statement must leave existing tables and sequences alone: a database from the first
+-- release has only users and tasks.
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'MANAGER', 'ADMIN')),
+    email      VARCHAR(255),
+    manager_id BIGINT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id               BIGINT PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    description      VARCHAR(255),
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),
+    priority         VARCHAR(255) CHECK (priority IN ('P0', 'P1', 'P2', 'P3', 'P4')),
+    assigned_user_id BIGINT REFERENCES users (id),
+    create_user_id   BIGINT REFERENCES users (id),
+    created_date     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            VARCHAR(4000),
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    created_date    TIMESTAMP(6) NOT NULL,
+    sent_date       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS task_scope_versions (
+    scope_id BIGINT PRIMARY KEY,
+    version  BIGINT NOT NULL
+);
+
+-- Task and outbox ids come from the pooled sequences (allocation size 50). Tasks numbered by
+-- IDENTITY before the switch are already in the table, so start the sequences past them.
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks) + 50, (SELECT last_value FROM tasks_seq)));
+SELECT setval('email_outbox_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM email_outbox) + 50, (SELECT last_value FROM email_outbox_seq)));
@@ -0,0 +1,29 @@
+-- Indexes for the task visibility queries. Built CONCURRENTLY so existing installations keep
+-- accepting writes (hence no transaction, see the .conf file); IF NOT EXISTS makes a rerun
+-- after a failed build safe.
+
+-- "created by me OR assigned to me": each side of the OR becomes an index range (BitmapOr),
+-- and the trailing (created_date, id) columns serve the keyset page order directly.
+-- findByCreateUser, findByAssignedUser and the manager team subquery use the same prefixes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_creator_created
+    ON tasks (create_user_id, created_date DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_assignee_created
+    ON tasks (assigned_user_id, created_date DESC, id DESC);
+
+-- Unfiltered admin list in page order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_created
+    ON tasks (created_date DESC, id DESC);
+
+-- Approval queues only look at pending tasks, a small and shrinking share of the table
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_pending_creator
+    ON tasks (create_user_id, created_date DESC, id DESC) WHERE status = 'PENDING';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_pending_assignee
+    ON tasks (assigned_user_id, created_date DESC, id DESC) WHERE status = 'PENDING';
+
+-- findByManager and the recursive team CTE (may already exist from the JPA @Index)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_manager_id ON users (manager_id);
+
+-- Outbox poller: due pending messages in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_due
+    ON email_outbox (next_attempt_at, id) WHERE status = 'PENDING';
+
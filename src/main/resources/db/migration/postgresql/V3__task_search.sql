@@ -0,0 +1,10 @@
+-- Full-text search over title and description. The generated column is recomputed by
+-- PostgreSQL on every insert and update, so the application never writes it; title
+-- matches carry weight A and rank above description matches (weight B).
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search ON tasks USING GIN (search_vector);
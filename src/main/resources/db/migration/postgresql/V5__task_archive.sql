@@ -0,0 +1,25 @@
+-- Closed tasks past the retention age are moved here by TaskArchiver, so the visibility
+-- queries on tasks only walk live rows. Same columns as tasks (ids keep their value), plus
+-- the time the row was archived; read only when a caller asks for history.
+-- The index on tasks is built CONCURRENTLY, so this script runs outside a transaction (see the
+-- .conf file) and every statement is safe to rerun.
+CREATE TABLE IF NOT EXISTS task_archive (
+    id               BIGINT PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    description      VARCHAR(255),
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),
+    priority         VARCHAR(255) CHECK (priority IN ('P0', 'P1', 'P2', 'P3', 'P4')),
+    assigned_user_id BIGINT REFERENCES users (id),
+    create_user_id   BIGINT REFERENCES users (id),
+    created_date     TIMESTAMP(6),
+    archived_date    TIMESTAMP(6) NOT NULL
+);
+
+-- Same access paths as the visibility indexes on tasks
+CREATE INDEX IF NOT EXISTS idx_task_archive_creator_created ON task_archive (create_user_id, created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_archive_assignee_created ON task_archive (assigned_user_id, created_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_archive_created ON task_archive (created_date DESC, id DESC);
+
+-- The archiver's scan: closed tasks in creation order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_closed_created
+    ON tasks (created_date, id) WHERE status IN ('APPROVED', 'REJECTED');
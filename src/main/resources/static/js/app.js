@@ -15,11 +15,18 @@ function app() {
 
         // Data
         tasks: [],
+        pageSize: 100,
+        nextCursor: null, // set while the server has more tasks than are loaded
+        loadingMore: false,
+        statusCounts: {}, // server-side counts over every visible task, by status
+        taskStream: null,
+        taskStreamLost: false,
         allUsers: [],
         userList: [], // for admin
 
         // Filters
         filters: {
+            query: '',
             status: 'ALL',
             sortBy: 'date'
         },
@@ -68,6 +75,7 @@ function app() {
                         this.auth.user = data;
                         this.auth.token = true;
                         this.fetchTasks();
+                        this.openTaskStream();
                         if (this.hasRole('ADMIN') || this.hasRole('MANAGER')) {
                             this.fetchUsers();
                             this.fetchAllUsersForDropdown();
@@ -126,6 +134,7 @@ function app() {
 
         async logout() {
             try {
+                this.closeTaskStream();
                 await fetch('/logout', { method: 'POST' });
                 this.auth.user = null;
                 this.auth.token = false;
@@ -134,6 +143,7 @@ function app() {
                 this.allUsers = [];
                 this.userList = [];
                 this.tasks = [];
+                this.nextCursor = null;
                 this.initApp(); // re-init to reset week start etc
             } catch (e) {
                 console.error("Logout failed", e);
@@ -216,31 +226,133 @@ function app() {
         // --- Tasks ---
 
         async fetchTasks() {
+            this.fetchStats();
+            if (this.filters.query.trim()) {
+                this.nextCursor = null;
+                return this.searchTasks();
+            }
             try {
-                const res = await fetch('/api/tasks');
-                let data = await res.json();
+                // Status filter is applied server-side; only the first page is loaded, more on request
+                const page = await this.fetchTaskPage(null);
+                if (!page) return;
+                this.tasks = this.sortTasks(page.items);
+                this.nextCursor = page.nextCursor;
+            } catch (e) {
+                console.error("Fetch tasks failed", e);
+            }
+        },
 
-                // Client-side filtering
-                if (this.filters.status !== 'ALL') {
-                    data = data.filter(t => t.status === this.filters.status);
-                }
+        async loadMoreTasks() {
+            if (!this.nextCursor || this.loadingMore) return;
+            this.loadingMore = true;
+            try {
+                const cursor = this.nextCursor;
+                const page = await this.fetchTaskPage(cursor);
+                // A refetch while this page was loading started the list over
+                if (!page || cursor !== this.nextCursor) return;
+                const loaded = new Set(this.tasks.map(t => t.id));
+                this.tasks = this.sortTasks(this.tasks.concat(page.items.filter(t => !loaded.has(t.id))));
+                this.nextCursor = page.nextCursor;
+            } catch (e) {
+                console.error("Load more tasks failed", e);
+            } finally {
+                this.loadingMore = false;
+            }
+        },
 
-                // Sorting
-                data.sort((a, b) => {
-                    if (this.filters.sortBy === 'priority') {
-                        return a.priority.localeCompare(b.priority);
-                    } else {
-                        // Date newest first
-                        return new Date(b.createdDate) - new Date(a.createdDate);
-                    }
-                });
+        async fetchTaskPage(cursor) {
+            const params = new URLSearchParams({ limit: String(this.pageSize) });
+            if (this.filters.status !== 'ALL') {
+                params.set('status', this.filters.status);
+            }
+            if (cursor) params.set('cursor', cursor);
+            const res = await fetch('/api/tasks?' + params);
+            if (!res.ok) return null;
+            return res.json();
+        },
 
-                this.tasks = data;
+        async fetchStats() {
+            try {
+                const res = await fetch('/api/tasks/stats');
+                if (!res.ok) return;
+                const stats = await res.json();
+                const counts = {};
+                for (const [status, byPriority] of Object.entries(stats.counts)) {
+                    counts[status] = Object.values(byPriority).reduce((sum, n) => sum + n, 0);
+                }
+                this.statusCounts = counts;
             } catch (e) {
-                console.error("Fetch tasks failed", e);
+                console.error("Fetch stats failed", e);
+            }
+        },
+
+        // Server ranks matches by relevance; keep that order and show the first page only
+        async searchTasks() {
+            try {
+                const params = new URLSearchParams({ q: this.filters.query.trim(), limit: '100' });
+                const res = await fetch('/api/tasks/search?' + params);
+                if (!res.ok) return;
+                const page = await res.json();
+                this.tasks = page.items.filter(t => this.filters.status === 'ALL' || t.status === this.filters.status);
+            } catch (e) {
+                console.error("Search tasks failed", e);
+            }
+        },
+
+        sortTasks(data) {
+            return data.sort((a, b) => {
+                if (this.filters.sortBy === 'priority') {
+                    return a.priority.localeCompare(b.priority);
+                } else {
+                    // Date newest first
+                    return new Date(b.createdDate) - new Date(a.createdDate);
+                }
+            });
+        },
+
+        // Server pushes committed changes to tasks this user can see; apply them as deltas
+        openTaskStream() {
+            this.closeTaskStream();
+            const stream = new EventSource('/api/tasks/stream');
+            stream.addEventListener('task', (e) => this.applyTaskChange(JSON.parse(e.data)));
+            stream.onopen = () => {
+                // Events may have been missed while disconnected
+                if (this.taskStreamLost) {
+                    this.taskStreamLost = false;
+                    this.fetchTasks();
+                }
+            };
+            stream.onerror = () => {
+                this.taskStreamLost = true; // EventSource reconnects by itself
+            };
+            this.taskStream = stream;
+        },
+
+        closeTaskStream() {
+            if (this.taskStream) {
+                this.taskStream.close();
+                this.taskStream = null;
             }
         },
 
+        taskStreamOpen() {
+            return this.taskStream?.readyState === EventSource.OPEN;
+        },
+
+        applyTaskChange(change) {
+            this.fetchStats();
+            if (this.filters.query.trim()) {
+                this.searchTasks(); // Whether and where the change ranks is up to the server
+                return;
+            }
+            const rest = this.tasks.filter(t => t.id !== change.id);
+            const task = change.task;
+            if (task && (this.filters.status === 'ALL' || task.status === this.filters.status)) {
+                rest.push(task);
+            }
+            this.tasks = this.sortTasks(rest);
+        },
+
         openTaskModal() {
             this.newTask = {
                 title: '',
@@ -269,7 +381,7 @@ function app() {
                 if (!res.ok) throw new Error(await res.text());
 
                 this.showTaskModal = false;
-                this.fetchTasks();
+                if (!this.taskStreamOpen()) this.fetchTasks();
             } catch (e) {
                 alert("Error: " + e.message);
             }
@@ -288,7 +400,7 @@ function app() {
             try {
                 const res = await fetch(`/api/tasks/${id}`, { method: 'DELETE' });
                 if (res.ok) {
-                    this.fetchTasks();
+                    if (!this.taskStreamOpen()) this.fetchTasks();
                 } else {
                     alert("Failed to delete task");
                 }
@@ -304,7 +416,7 @@ function app() {
                     headers: { 'Content-Type': 'application/json' },
                     body: JSON.stringify({ status })
                 });
-                this.fetchTasks();
+                if (!this.taskStreamOpen()) this.fetchTasks();
             } catch (e) {
                 alert("Error updating status");
             }
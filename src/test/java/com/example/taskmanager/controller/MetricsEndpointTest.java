@@ -0,0 +1,69 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void testPrometheusScrapeExposesHotPathMetrics() throws Exception {
+        Task task = new Task();
+        task.setTitle("Measured");
+        taskService.createTask(task, userService.getUserByUsername("user"));
+        taskService.exportTasksToCsv(new StringWriter(), userService.getUserByUsername("admin"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("taskmanager_tasks_create_seconds_count{mode=\"single\"}")))
+                .andExpect(content().string(containsString("taskmanager_tasks_export_size_bytes_sum")))
+                .andExpect(content().string(containsString("taskmanager_users_lookup_seconds")))
+                .andExpect(content().string(containsString("taskmanager_mail_outbox_size{status=\"pending\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    void testActuatorEndpointsStayProtected() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testPrometheusRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,14 +1,45 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -19,6 +50,12 @@ class TaskControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void testGetTasksAsUser() throws Exception {
@@ -31,4 +68,291 @@ class TaskControllerTest {
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testGetTasksFollowsCursor() throws Exception {
+        User user = userService.getUserByUsername("user");
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("Paged Task " + i);
+            taskService.createTask(task, user);
+        }
+
+        String firstPage = mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+        List<Integer> firstIds = JsonPath.read(firstPage, "$.items[*].id");
+
+        String secondPage = mockMvc.perform(get("/api/tasks").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> secondIds = JsonPath.read(secondPage, "$.items[*].id");
+        assertFalse(secondIds.isEmpty());
+        assertFalse(secondIds.stream().anyMatch(firstIds::contains));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testExportTasksStreamsCsv() throws Exception {
+        User user = userService.getUserByUsername("user");
+        Task task = new Task();
+        task.setTitle("Exported, quoted");
+        taskService.createTask(task, user);
+
+        String csv = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(csv.startsWith("\uFEFFTask ID,Title,Description,Status,Priority,Assigned User,Created Date"));
+        assertTrue(csv.contains(",\"Exported, quoted\",,PENDING,"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testExportTasksAsGzipCsv() throws Exception {
+        User user = userService.getUserByUsername("user");
+        Task task = new Task();
+        task.setTitle("Gzip export");
+        taskService.createTask(task, user);
+
+        byte[] body = mockMvc.perform(get("/api/tasks/export").param("format", "csv.gz"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(csv.startsWith("\uFEFFTask ID,Title,Description,Status,Priority,Assigned User,Created Date"));
+        assertTrue(csv.contains(",Gzip export,,PENDING,"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testExportTasksAsNdjson() throws Exception {
+        User user = userService.getUserByUsername("user");
+        Task task = new Task();
+        task.setTitle("NDJSON export");
+        Long id = taskService.createTask(task, user).getId();
+
+        String body = mockMvc.perform(get("/api/tasks/export").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.endsWith("\n"));
+        String line = body.lines().filter(l -> l.contains("\"NDJSON export\"")).findFirst().orElseThrow();
+        assertEquals(id.intValue(), (Integer) JsonPath.read(line, "$.id"));
+        assertEquals("PENDING", JsonPath.read(line, "$.status"));
+        assertEquals("user", JsonPath.read(line, "$.assignedUser.username"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testExportTasksAsArrow() throws Exception {
+        User user = userService.getUserByUsername("user");
+        Task task = new Task();
+        task.setTitle("Arrow export");
+        Long id = taskService.createTask(task, user).getId();
+
+        byte[] body = mockMvc.perform(get("/api/tasks/export")
+                .accept("text/plain;q=0.5, application/vnd.apache.arrow.stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.apache.arrow.stream"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        boolean found = false;
+        try (BufferAllocator allocator = new RootAllocator();
+                ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                BigIntVector ids = (BigIntVector) root.getVector("id");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    if (ids.get(i) == id) {
+                        found = true;
+                        assertEquals("Arrow export", root.getVector("title").getObject(i).toString());
+                        assertEquals("PENDING", root.getVector("status").getObject(i).toString());
+                        assertEquals("user", root.getVector("assignedUsername").getObject(i).toString());
+                        assertTrue(root.getVector("description").isNull(i));
+                    }
+                }
+            }
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testExportTasksRejectsUnsupportedFormats() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").accept("application/pdf"))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/tasks/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        // Wildcards fall back to CSV
+        mockMvc.perform(get("/api/tasks/export").accept("*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testCreateTasksBatch() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Batch A\",\"priority\":\"P1\"},{\"title\":\"Batch B\",\"priority\":\"P3\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", notNullValue()))
+                .andExpect(jsonPath("$[1].status").value("PENDING"))
+                .andExpect(jsonPath("$[1].assignedUser.username").value("user"));
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = "MANAGER")
+    void testBulkApproveReportsPerIdOutcome() throws Exception {
+        User manager = userService.getUserByUsername("manager");
+        Task pending = new Task();
+        pending.setTitle("Bulk pending");
+        Long pendingId = taskService.createTask(pending, manager).getId();
+        Task approved = new Task();
+        approved.setTitle("Bulk approved");
+        Long approvedId = taskService.createTask(approved, manager).getId();
+        taskService.updateTaskStatus(approvedId, TaskStatus.APPROVED);
+
+        // Owned by "user", who does not report to "manager"
+        Task foreign = new Task();
+        foreign.setTitle("Bulk foreign");
+        Long foreignId = taskService.createTask(foreign, userService.getUserByUsername("user")).getId();
+
+        mockMvc.perform(put("/api/tasks/bulk/approve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + pendingId + "," + approvedId + "," + foreignId + ",999999],"
+                        + "\"status\":\"APPROVED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + pendingId + "']").value("UPDATED"))
+                .andExpect(jsonPath("$['" + approvedId + "']").value("UNCHANGED"))
+                .andExpect(jsonPath("$['" + foreignId + "']").value("NOT_FOUND"))
+                .andExpect(jsonPath("$['999999']").value("NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testBulkApproveForbiddenForUsers() throws Exception {
+        mockMvc.perform(put("/api/tasks/bulk/approve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1],\"status\":\"APPROVED\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testGetTasksRejectsOversizedLimit() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testStreamOpensEventStream() throws Exception {
+        mockMvc.perform(get("/api/tasks/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testGetTasksRevalidatesWithEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // A different query over the same scope has its own tag
+        mockMvc.perform(get("/api/tasks").param("limit", "5").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").param("status", "PENDING").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        Task task = new Task();
+        task.setTitle("Invalidates ETag");
+        taskService.createTask(task, userService.getUserByUsername("user"));
+
+        String newEtag = mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testSearchRanksVisibleMatches() throws Exception {
+        User user = userService.getUserByUsername("user");
+        Task inDescription = new Task();
+        inDescription.setTitle("Weekly sync");
+        inDescription.setDescription("Bring the zephyrine numbers");
+        taskService.createTask(inDescription, user);
+        Task inTitle = new Task();
+        inTitle.setTitle("Zephyrine rollout");
+        taskService.createTask(inTitle, user);
+        Task hidden = new Task();
+        hidden.setTitle("Zephyrine audit");
+        taskService.createTask(hidden, userService.getUserByUsername("admin"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "ZEPHYRINE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Zephyrine rollout"))
+                .andExpect(jsonPath("$.items[1].title").value("Weekly sync"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        String firstPage = mockMvc.perform(get("/api/tasks/search").param("q", "zephyrine").param("limit", "1"))
+                .andExpect(jsonPath("$.items[0].title").value("Zephyrine rollout"))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/tasks/search").param("q", "zephyrine").param("limit", "1")
+                        .param("cursor", (String) JsonPath.read(firstPage, "$.nextCursor")))
+                .andExpect(jsonPath("$.items[0].title").value("Weekly sync"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testSearchRejectsBlankQuery() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testStatsCountOwnTasks() throws Exception {
+        String before = mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scope").value("OWN"))
+                .andReturn().getResponse().getContentAsString();
+        String etag = mockMvc.perform(get("/api/tasks/stats")).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/tasks/stats").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        Task task = new Task();
+        task.setTitle("Counted");
+        task.setPriority(com.example.taskmanager.entity.Priority.P4);
+        taskService.createTask(task, userService.getUserByUsername("user"));
+
+        int pending = JsonPath.read(before, "$.counts.PENDING.P4");
+        mockMvc.perform(get("/api/tasks/stats").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PENDING.P4").value(pending + 1));
+    }
 }
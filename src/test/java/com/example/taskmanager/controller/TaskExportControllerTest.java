@@ -0,0 +1,120 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void testExportJobIsDownloadedWithRanges() throws Exception {
+        Task task = new Task();
+        task.setTitle("Exported in the background");
+        taskService.createTask(task, userService.getUserByUsername("admin"));
+        String id = completedExport();
+
+        byte[] full = mockMvc.perform(get("/api/tasks/exports/" + id + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", contentLength(id)))
+                .andReturn().getResponse().getContentAsByteArray();
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(full)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("\uFEFFTask ID,"), csv);
+        assertTrue(csv.contains("Exported in the background"), csv);
+
+        // Resume after the first 10 bytes
+        byte[] rest = mockMvc.perform(get("/api/tasks/exports/" + id + "/download")
+                        .header("Range", "bytes=10-")
+                        .header("If-Range", "\"" + id + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 10-" + (full.length - 1) + "/" + full.length))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(full, 10, full.length), rest);
+
+        mockMvc.perform(get("/api/tasks/exports/" + id + "/download")
+                        .header("Range", "bytes=10-")
+                        .header("If-Range", "\"stale\""))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/exports/" + id + "/download").header("Range", "bytes=" + full.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + full.length));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void testExportIsPrivateToItsOwner() throws Exception {
+        String id = completedExport();
+
+        mockMvc.perform(get("/api/tasks/exports/" + id).with(user("manager").roles("MANAGER")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks/exports/" + id + "/download").with(user("manager").roles("MANAGER")))
+                .andExpect(status().isNotFound());
+    }
+
+    private String completedExport() throws Exception {
+        MvcResult submitted = mockMvc.perform(post("/api/tasks/exports"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        String id = JsonPath.read(submitted.getResponse().getContentAsString(), "$.id");
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = mockMvc.perform(get("/api/tasks/exports/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String state = JsonPath.read(body, "$.state");
+            if (state.equals("COMPLETED")) {
+                mockMvc.perform(get("/api/tasks/exports/" + id))
+                        .andExpect(jsonPath("$.rows").value(JsonPath.<Integer>read(body, "$.expectedRows")));
+                return id;
+            }
+            assertNotEquals("FAILED", state, body);
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Export " + id + " did not complete");
+    }
+
+    private long contentLength(String id) throws Exception {
+        String body = mockMvc.perform(get("/api/tasks/exports/" + id)).andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.size")).longValue();
+    }
+}
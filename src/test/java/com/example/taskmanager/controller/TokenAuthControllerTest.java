@@ -0,0 +1,55 @@
+package com.example.taskmanager.controller;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "taskmanager.auth.token.enabled=true",
+        "taskmanager.auth.token.secret=test-secret-test-secret-test-secret"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testLoginIssuesTokenWithoutSession() throws Exception {
+        MvcResult login = mockMvc.perform(post("/login")
+                .param("username", "manager")
+                .param("password", "password"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+
+        assertNull(login.getRequest().getSession(false));
+        Cookie cookie = login.getResponse().getCookie("TM_TOKEN");
+        assertNotNull(cookie);
+
+        mockMvc.perform(get("/api/auth/me").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("manager"));
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + cookie.getValue()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testForgedTokenIsIgnored() throws Exception {
+        mockMvc.perform(get("/api/auth/me").cookie(new Cookie("TM_TOKEN", "forged.token")))
+                .andExpect(jsonPath("$.authenticated").value(false));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.UserService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Primary and replica are two embedded H2 databases. The replica gets the schema
+ * but none of the primary's rows, and each test asks H2 which database served a
+ * transaction.
+ */
+@SpringBootTest(properties = {
+        "taskmanager.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "taskmanager.datasource.replica.username=sa",
+        "taskmanager.datasource.replica.password=",
+        "taskmanager.datasource.replica.max-lag=300ms"})
+public class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseTheReplica() {
+        assertEquals("REPLICA", database(true));
+        assertEquals("TESTDB", database(false));
+        assertEquals("TESTDB", jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    @Test
+    void testReadOnlyServiceMethodsReadTheReplica() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        assertEquals(List.of(), userService.getManagedUsers(admin));
+    }
+
+    @Test
+    void testUserReadsOwnWritesFromThePrimaryUntilTheLagPasses() throws InterruptedException {
+        authenticate("replica-writer");
+        database(false);
+        assertEquals("TESTDB", database(true));
+
+        authenticate("replica-reader");
+        assertEquals("REPLICA", database(true));
+
+        Thread.sleep(400);
+        authenticate("replica-writer");
+        assertEquals("REPLICA", database(true));
+    }
+
+    // The next request may reach a node that did not see the write; the cookie tells it
+    @Test
+    void testWriteCookieKeepsReadsOnThePrimaryOnAnyNode() throws InterruptedException {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        database(false);
+        Cookie lastWrite = writeResponse.getCookie("TM_LAST_WRITE");
+        assertNotNull(lastWrite);
+
+        // Someone this node has no record of, carrying the cookie from the write
+        authenticate("replica-cookie-holder");
+        MockHttpServletRequest read = new MockHttpServletRequest();
+        read.setCookies(lastWrite);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(read, new MockHttpServletResponse()));
+        assertEquals("TESTDB", database(true));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("REPLICA", database(true));
+
+        Thread.sleep(400);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(read, new MockHttpServletResponse()));
+        assertEquals("REPLICA", database(true));
+    }
+
+    @Test
+    void testPrincipalMissingOnTheReplicaIsReadFromThePrimary() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User created = new User();
+        created.setUsername("replica-new-" + System.nanoTime());
+        created.setPassword("password");
+        created.setRole(Role.USER);
+        userService.createUser(created, admin);
+
+        // Not the writer, so the lookup goes to the replica, which has no users at all
+        authenticate("replica-bystander");
+        assertEquals(created.getUsername(), userService.getUserByUsername(created.getUsername()).getUsername());
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+}
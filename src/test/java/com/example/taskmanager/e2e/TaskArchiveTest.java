@@ -0,0 +1,134 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPage;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskArchiveRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskCounterService;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closed tasks past the retention age move to the archive: the default reads
+ * stop returning them, includeHistory brings them back in the same order, and
+ * the task counts do not change.
+ */
+@SpringBootTest
+public class TaskArchiveTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private User owner;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        User user = new User();
+        user.setUsername("archive_user_" + System.nanoTime());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        owner = userService.createUser(user, admin);
+        now = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void testClosedTasksMoveToHistory() throws Exception {
+        Task approved = task("Approved long ago", TaskStatus.APPROVED, now.minusDays(200));
+        Task rejected = task("Rejected long ago", TaskStatus.REJECTED, now.minusDays(210));
+        Task pending = task("Pending long ago", TaskStatus.PENDING, now.minusDays(220));
+        Task recent = task("Approved today", TaskStatus.APPROVED, null);
+        long before = taskCounterService.getStats(owner).getTotal();
+
+        // Batches of one: the caller keeps going while batches come back full
+        assertEquals(1, taskService.archiveClosedTasks(now.minusDays(100), 1));
+        assertEquals(1, taskService.archiveClosedTasks(now.minusDays(100), 1));
+        assertEquals(0, taskService.archiveClosedTasks(now.minusDays(100), 1));
+
+        assertFalse(taskRepository.existsById(approved.getId()));
+        assertEquals(TaskStatus.REJECTED, taskArchiveRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        assertEquals(List.of(recent.getId(), pending.getId()), ids(page(false, null, 100).getItems()));
+
+        TaskPage<TaskView> first = page(true, null, 2);
+        assertEquals(List.of(recent.getId(), approved.getId()), ids(first.getItems()));
+        assertEquals(owner.getUsername(), first.getItems().get(1).getCreateUser().getUsername());
+        TaskPage<TaskView> second = page(true, first.getNextCursor(), 2);
+        assertEquals(List.of(rejected.getId(), pending.getId()), ids(second.getItems()));
+        assertNull(second.getNextCursor());
+
+        assertEquals(before, taskCounterService.getStats(owner).getTotal());
+        assertEquals(2, taskService.exportTasksToCsv(new StringWriter(), owner));
+        assertEquals(4, taskService.exportTasksToCsv(new StringWriter(), owner, true));
+    }
+
+    @Test
+    void testDeletedUserLeavesHistory() {
+        Task approved = task("Approved long ago", TaskStatus.APPROVED, now.minusDays(200));
+        taskService.archiveClosedTasks(now.minusDays(100), 1000);
+
+        userService.deleteUser(owner.getId(), admin);
+
+        assertNull(taskArchiveRepository.findById(approved.getId()).orElseThrow().getCreateUserId());
+    }
+
+    private Task task(String title, TaskStatus status, LocalDateTime createdDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task = taskService.createTask(task, owner);
+        if (status != TaskStatus.PENDING) {
+            taskService.updateTaskStatus(task.getId(), status);
+        }
+        if (createdDate != null) {
+            jdbcTemplate.update("UPDATE tasks SET created_date = ? WHERE id = ?", createdDate, task.getId());
+        }
+        return task;
+    }
+
+    private TaskPage<TaskView> page(boolean includeHistory, String cursor, int limit) {
+        TaskFilter filter = new TaskFilter();
+        filter.setIncludeHistory(includeHistory);
+        return taskService.getTasksPage(owner, filter, cursor, limit);
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::getId).toList();
+    }
+}
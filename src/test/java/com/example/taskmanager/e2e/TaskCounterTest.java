@@ -0,0 +1,244 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.dto.TaskStats;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskCounter;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskCounterService;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counters are written just before commit, so this test commits its writes and
+ * compares every scope's counters with a GROUP BY over the visible tasks,
+ * archived ones included.
+ */
+@SpringBootTest
+public class TaskCounterTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User admin;
+    private User director;
+    private User lead;
+    private User engineer;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        String suffix = Long.toString(System.nanoTime());
+        director = userService.createUser(user("cnt_director_" + suffix, Role.MANAGER, null), admin);
+        lead = userService.createUser(user("cnt_lead_" + suffix, Role.MANAGER, director), admin);
+        engineer = userService.createUser(user("cnt_engineer_" + suffix, Role.USER, null), lead);
+    }
+
+    @Test
+    void testCountersFollowTaskWrites() {
+        Task own = taskService.createTask(task(Priority.P0, null), engineer);
+        Task delegated = taskService.createTask(task(null, engineer.getId()), lead);
+        List<Task> batch = taskService.createTasks(List.of(task(Priority.P3, null), task(Priority.P3, null)), lead);
+        assertCountersMatch();
+
+        taskService.updateTaskStatus(own.getId(), TaskStatus.APPROVED);
+        taskService.updateTaskStatuses(List.of(delegated.getId(), batch.get(0).getId()), TaskStatus.REJECTED, lead);
+        assertCountersMatch();
+
+        taskService.deleteTask(batch.get(1).getId(), lead);
+        assertCountersMatch();
+    }
+
+    @Test
+    void testDeletedCreatorLeavesManagerScope() {
+        taskService.createTask(task(Priority.P1, engineer.getId()), lead);
+        taskService.createTask(task(Priority.P2, null), director);
+        assertEquals(1, stats(director).getCounts().get(TaskStatus.PENDING).get("P1"));
+
+        userService.deleteUser(lead.getId(), admin);
+
+        assertEquals(0, stats(director).getCounts().get(TaskStatus.PENDING).get("P1"));
+        assertCountersMatch();
+    }
+
+    @Test
+    void testHandOverMovesAssigneeCounts() {
+        taskService.createTask(task(Priority.P1, engineer.getId()), lead);
+        taskService.createTask(task(Priority.P2, engineer.getId()), admin);
+        Task own = taskService.createTask(task(null, null), engineer);
+        Task closed = taskService.createTask(task(Priority.P0, engineer.getId()), lead);
+        taskService.updateTaskStatus(closed.getId(), TaskStatus.APPROVED);
+
+        // Batches of two, so the hand-over takes several transactions
+        int total = 0;
+        int handed;
+        while ((handed = taskService.handOverTasks(engineer.getId(), director.getId(), 2)) > 0) {
+            total += handed;
+        }
+
+        assertEquals(4, total);
+        assertFalse(taskRepository.existsByAssignedUserId(engineer.getId()));
+        assertEquals(director.getId(), taskRepository.findById(own.getId()).orElseThrow().getAssignedUserId());
+        assertNull(taskRepository.findById(closed.getId()).orElseThrow().getAssignedUserId());
+        assertCountersMatch();
+    }
+
+    @Test
+    void testMissingScopesAreCountedFromTasks() {
+        taskService.createTask(task(Priority.P1, engineer.getId()), lead);
+        Task closed = taskService.createTask(task(Priority.P2, null), engineer);
+        taskService.updateTaskStatus(closed.getId(), TaskStatus.APPROVED);
+
+        // As if these users existed before the counters did
+        transactionTemplate.executeWithoutResult(status -> List.of(director, lead, engineer)
+                .forEach(user -> counterRepository.deleteScope(user.getId())));
+        taskCounterService.createMissingScopes();
+
+        assertEquals(1, stats(lead).getCounts().get(TaskStatus.PENDING).get("P1"));
+        assertEquals(1, stats(engineer).getCounts().get(TaskStatus.APPROVED).get("P2"));
+        assertCountersMatch();
+    }
+
+    @Test
+    void testConcurrentStatusChangesKeepCountersExact() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(taskService.createTask(task(Priority.P1, null), engineer).getId());
+        }
+
+        // Every task gets competing single, bulk and (for some) delete writers at once
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                writes.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.updateTaskStatus(id, TaskStatus.APPROVED);
+                }));
+                writes.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.updateTaskStatus(id, TaskStatus.REJECTED);
+                }));
+                writes.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.updateTaskStatuses(List.of(id), TaskStatus.APPROVED, engineer);
+                }));
+                if (i % 4 == 0) {
+                    writes.add(pool.submit(() -> {
+                        start.await();
+                        taskService.deleteTask(id, engineer);
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                try {
+                    write.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    // Writers that lost the race against the delete
+                    assertEquals("Task not found", e.getCause().getMessage());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertCountersMatch();
+    }
+
+    private void assertCountersMatch() {
+        for (User user : List.of(admin, director, lead, engineer)) {
+            if (userRepository.existsById(user.getId())) {
+                assertEquals(groupBy(user), nonZero(stats(user)), user.getUsername());
+            }
+        }
+    }
+
+    private TaskStats stats(User user) {
+        return taskCounterService.getStats(userRepository.findById(user.getId()).orElseThrow());
+    }
+
+    private Map<String, Long> groupBy(User user) {
+        Map<String, Long> counts = new HashMap<>();
+        User current = userRepository.findById(user.getId()).orElseThrow();
+        // Counters include archived tasks
+        for (TaskView task : taskRepository.findViews(TaskSpecifications.visibleTo(current), Integer.MAX_VALUE, true)) {
+            String priority = task.getPriority() != null ? task.getPriority().name() : TaskCounter.NO_PRIORITY;
+            counts.merge(task.getStatus() + "/" + priority, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> nonZero(TaskStats stats) {
+        Map<String, Long> counts = new HashMap<>();
+        stats.getCounts().forEach((status, byPriority) -> byPriority.forEach((priority, count) -> {
+            if (count != 0) {
+                counts.put(status + "/" + priority, count);
+            }
+        }));
+        return counts;
+    }
+
+    private static User user(String username, Role role, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRole(role);
+        user.setManager(manager);
+        return user;
+    }
+
+    private static Task task(Priority priority, Long assigneeId) {
+        Task task = new Task();
+        task.setTitle("Counted task");
+        task.setPriority(priority);
+        task.setAssignedUserId(assigneeId);
+        return task;
+    }
+}
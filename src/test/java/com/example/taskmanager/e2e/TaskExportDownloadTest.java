@@ -0,0 +1,89 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.security.TokenService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Downloads through the real connector, where Tomcat sends the file with sendfile
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.auth.token.enabled=true",
+        "taskmanager.auth.token.secret=test-secret-test-secret-test-secret"
+})
+public class TaskExportDownloadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = tokenService.issue(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Test
+    void testDownloadResumesWithRange() throws Exception {
+        HttpResponse<String> submitted = client.send(request("/api/tasks/exports")
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(202, submitted.statusCode());
+        String id = JsonPath.read(submitted.body(), "$.id");
+        awaitCompleted(id);
+
+        HttpResponse<byte[]> full = client.send(request("/api/tasks/exports/" + id + "/download").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, full.statusCode());
+        byte[] bytes = full.body();
+        assertEquals(String.valueOf(bytes.length), full.headers().firstValue("Content-Length").orElseThrow());
+        assertTrue(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes().length > 0);
+
+        HttpResponse<byte[]> rest = client.send(request("/api/tasks/exports/" + id + "/download")
+                .header("Range", "bytes=7-").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(206, rest.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 7, bytes.length), rest.body());
+
+        HttpResponse<byte[]> middle = client.send(request("/api/tasks/exports/" + id + "/download")
+                .header("Range", "bytes=3-9").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(206, middle.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 3, 10), middle.body());
+    }
+
+    private void awaitCompleted(String id) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = client.send(request("/api/tasks/exports/" + id).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            if (JsonPath.read(body, "$.state").equals("COMPLETED")) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Export " + id + " did not complete");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+}
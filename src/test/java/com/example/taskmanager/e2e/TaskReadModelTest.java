@@ -0,0 +1,116 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+public class TaskReadModelTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testListStatementCountIsConstant() {
+        seed(5);
+        long small = statementsFor(() -> taskService.getTasksPage(admin, new TaskFilter(), null, 500));
+
+        seed(40);
+        long large = statementsFor(() -> taskService.getTasksPage(admin, new TaskFilter(), null, 500));
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testExportStatementCountIsConstant() {
+        seed(5);
+        long small = statementsFor(() -> export());
+
+        seed(40);
+        long large = statementsFor(() -> export());
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    // Each task gets its own creator and assignee, each with a manager, to expose any per-row user loading
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            User manager = user(Role.MANAGER, null);
+            User creator = user(Role.USER, manager);
+            User assignee = user(Role.USER, manager);
+
+            Task task = new Task();
+            task.setTitle("Read model task " + i);
+            task.setCreateUserId(creator.getId());
+            task.setAssignedUserId(assignee.getId());
+            taskRepository.save(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private User user(Role role, User manager) {
+        User user = new User();
+        user.setUsername("readmodel_" + java.util.UUID.randomUUID());
+        user.setPassword("password");
+        user.setRole(role);
+        user.setManager(manager);
+        return userRepository.save(user);
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void export() {
+        try {
+            taskService.exportTasksToCsv(new StringWriter(), admin);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserOffboardingService;
+import com.example.taskmanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class TeamHierarchyTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserOffboardingService userOffboardingService;
+
+    private User director;
+    private User lead;
+    private User engineer;
+    private User outsider;
+
+    @BeforeEach
+    void setUp() {
+        director = save("hier_director", Role.MANAGER, null);
+        lead = save("hier_lead", Role.MANAGER, director);
+        engineer = save("hier_engineer", Role.USER, lead);
+        outsider = save("hier_outsider", Role.USER, null);
+    }
+
+    // The assignee list: only users the manager can actually assign tasks to
+    @Test
+    void testManagedUsersAreDirectReports() {
+        List<String> team = userService.getManagedUsers(director).stream().map(User::getUsername).toList();
+        assertEquals(List.of("hier_lead"), team);
+
+        List<String> leadTeam = userService.getManagedUsers(lead).stream().map(User::getUsername).toList();
+        assertEquals(List.of("hier_engineer"), leadTeam);
+    }
+
+    @Test
+    void testSecondLevelReportIsAssignedThroughTheirManager() {
+        RuntimeException skipped = assertThrows(RuntimeException.class,
+                () -> taskService.createTask(task(engineer.getId()), director));
+        assertEquals("Managers can only assign tasks to their own users.", skipped.getMessage());
+
+        Task task = taskService.createTask(task(engineer.getId()), lead);
+
+        assertEquals(engineer.getId(), task.getAssignedUserId());
+        assertTrue(taskService.getAllTasks(engineer).stream().anyMatch(t -> t.getId().equals(task.getId())));
+        // Created by one of the director's direct reports
+        assertTrue(taskService.getAllTasks(director).stream().anyMatch(t -> t.getId().equals(task.getId())));
+    }
+
+    @Test
+    void testOffboardingSuccessorMustBeADirectReport() {
+        ResponseStatusException secondLevel = assertThrows(ResponseStatusException.class,
+                () -> userOffboardingService.submit(lead.getId(), engineer.getId(), director));
+        assertEquals(HttpStatus.FORBIDDEN, secondLevel.getStatusCode());
+    }
+
+    @Test
+    void testManagerCanUpdateIndirectReportOnly() {
+        User updates = new User();
+        updates.setEmail("engineer@example.com");
+
+        User updated = userService.updateUser(engineer.getId(), updates, director);
+        assertEquals("engineer@example.com", updated.getEmail());
+
+        assertThrows(RuntimeException.class, () -> userService.updateUser(outsider.getId(), updates, director));
+        assertThrows(RuntimeException.class, () -> userService.updateUser(director.getId(), updates, lead));
+    }
+
+    private static Task task(Long assigneeId) {
+        Task task = new Task();
+        task.setTitle("Hierarchy task");
+        task.setAssignedUserId(assigneeId);
+        return task;
+    }
+
+    private User save(String username, Role role, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRole(role);
+        user.setManager(manager);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Users live in the second-level cache; writes through the service must leave
+ * the cached copy current rather than stale.
+ */
+@SpringBootTest
+public class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+    }
+
+    @Test
+    void testUserIsCachedAndKeptCurrent() {
+        User user = new User();
+        user.setUsername("cache_user_" + System.nanoTime());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        user.setEmail("before@example.com");
+        user = userService.createUser(user, admin);
+
+        userRepository.findById(user.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+
+        User updates = new User();
+        updates.setEmail("after@example.com");
+        userService.updateUser(user.getId(), updates, admin);
+        assertEquals("after@example.com", userRepository.findById(user.getId()).orElseThrow().getEmail());
+        assertEquals("after@example.com",
+                userRepository.findByUsername(user.getUsername()).orElseThrow().getEmail());
+
+        userService.deleteUser(user.getId(), admin);
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertTrue(userRepository.findByUsername(user.getUsername()).isEmpty());
+    }
+
+    // Native statements behind user creation, deletion and archiving declare their tables
+    @Test
+    void testNativeWritesLeaveOtherUsersCached() {
+        User lead = userService.createUser(user("cache_lead_" + System.nanoTime(), Role.MANAGER), admin);
+        userRepository.findById(admin.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(User.class, admin.getId()));
+
+        User report = userService.createUser(user("cache_report_" + System.nanoTime(), Role.USER), lead);
+        assertTrue(entityManagerFactory.getCache().contains(User.class, admin.getId()));
+
+        Task task = new Task();
+        task.setTitle("Archived with the cache warm");
+        Long closed = taskService.createTask(task, report).getId();
+        taskService.updateTaskStatus(closed, TaskStatus.APPROVED);
+        userRepository.findById(admin.getId()).orElseThrow();
+        taskService.archiveClosedTasks(LocalDateTime.now(ZoneOffset.UTC).plusMinutes(1), 1000);
+        assertTrue(entityManagerFactory.getCache().contains(User.class, admin.getId()));
+
+        userService.deleteUser(report.getId(), admin);
+        assertTrue(entityManagerFactory.getCache().contains(User.class, admin.getId()));
+    }
+
+    private static User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
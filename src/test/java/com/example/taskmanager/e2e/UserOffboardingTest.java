@@ -0,0 +1,133 @@
+package com.example.taskmanager.e2e;
+
+import com.example.taskmanager.dto.JobState;
+import com.example.taskmanager.dto.OffboardingJobStatus;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.UserOffboardingService;
+import com.example.taskmanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A manager with reports and tasks is offboarded through the background job:
+ * pending tasks end up with the successor, closed ones unassigned, the reports
+ * without a manager and the manager deleted.
+ */
+@SpringBootTest(properties = "taskmanager.users.offboarding.batch-size=2")
+public class UserOffboardingTest {
+
+    @Autowired
+    private UserOffboardingService userOffboardingService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private User lead;
+    private User engineer;
+    private User successor;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        String suffix = Long.toString(System.nanoTime());
+        lead = userService.createUser(user("off_lead_" + suffix, Role.MANAGER), admin);
+        successor = userService.createUser(user("off_successor_" + suffix, Role.MANAGER), admin);
+        engineer = userService.createUser(user("off_engineer_" + suffix, Role.USER), lead);
+    }
+
+    @Test
+    void testOffboardingHandsOverTasksAndDeletesUser() throws InterruptedException {
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pending.add(taskService.createTask(task(null), lead).getId());
+        }
+        pending.add(taskService.createTask(task(lead.getId()), admin).getId());
+        Long closed = taskService.createTask(task(null), lead).getId();
+        taskService.updateTaskStatus(closed, TaskStatus.REJECTED);
+        Long engineers = taskService.createTask(task(engineer.getId()), lead).getId();
+
+        assertThrows(ResponseStatusException.class, () -> userService.deleteUser(lead.getId(), admin));
+
+        OffboardingJobStatus job = userOffboardingService.submit(lead.getId(), successor.getId(), admin);
+        job = awaitDone(job.getId());
+
+        assertEquals(JobState.COMPLETED, job.getState(), job.getError());
+        assertEquals(7, job.getTasks());
+        assertEquals(7L, job.getExpectedTasks());
+        assertFalse(userRepository.existsById(lead.getId()));
+        for (Long id : pending) {
+            assertEquals(successor.getId(), taskRepository.findById(id).orElseThrow().getAssignedUserId());
+        }
+        Task rejected = taskRepository.findById(closed).orElseThrow();
+        assertNull(rejected.getAssignedUserId());
+        assertNull(rejected.getCreateUserId());
+        assertEquals(engineer.getId(), taskRepository.findById(engineers).orElseThrow().getAssignedUserId());
+        assertNull(userRepository.findById(engineer.getId()).orElseThrow().getManager());
+    }
+
+    @Test
+    void testSubmitRejectsInvalidSuccessor() {
+        ResponseStatusException self = assertThrows(ResponseStatusException.class,
+                () -> userOffboardingService.submit(lead.getId(), lead.getId(), admin));
+        assertEquals(HttpStatus.BAD_REQUEST, self.getStatusCode());
+
+        // A manager can only hand tasks to their own team
+        ResponseStatusException outside = assertThrows(ResponseStatusException.class,
+                () -> userOffboardingService.submit(engineer.getId(), successor.getId(), lead));
+        assertEquals(HttpStatus.FORBIDDEN, outside.getStatusCode());
+        assertTrue(userRepository.existsById(engineer.getId()));
+    }
+
+    private OffboardingJobStatus awaitDone(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            OffboardingJobStatus status = userOffboardingService.getStatus(id, admin);
+            if (status.getState() == JobState.COMPLETED
+                    || status.getState() == JobState.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        fail("Offboarding job did not finish");
+        return null;
+    }
+
+    private static User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+
+    private static Task task(Long assigneeId) {
+        Task task = new Task();
+        task.setTitle("Offboarded task");
+        task.setAssignedUserId(assigneeId);
+        return task;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanager.e2e;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the runtime switch reaches every path that used to block a pooled platform thread
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadModeTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void tomcatHandlesRequestsOnVirtualThreads() throws Exception {
+        Executor executor = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector()
+                .getProtocolHandler().getExecutor();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(isVirtual(Thread.currentThread())));
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void eventDeliveryAndSchedulingUseVirtualThreads() throws Exception {
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, taskExecutor);
+        assertInstanceOf(SimpleAsyncTaskScheduler.class, taskScheduler);
+
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        taskExecutor.execute(() -> virtual.complete(isVirtual(Thread.currentThread())));
+        assertTrue(virtual.get());
+    }
+
+    // Thread.isVirtual() is Java 21 API; the main build still targets 17
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the PostgreSQL migrations against a scratch database and checks that
+ * every task, user and outbox query the service issues can be answered from an
+ * index. Sequential scans are disabled for the session so an empty table
+ * still shows whether a usable index exists. Enabled by pointing
+ * TASKMANAGER_TEST_PG_URL (plus _USER and _PASSWORD) at a disposable database.
+ */
+@EnabledIfEnvironmentVariable(named = "TASKMANAGER_TEST_PG_URL", matches = ".+")
+public class PostgresQueryPlanTest {
+
+    private static final String URL = System.getenv("TASKMANAGER_TEST_PG_URL");
+    private static final String USER = System.getenv().getOrDefault("TASKMANAGER_TEST_PG_USER", "postgres");
+    private static final String PASSWORD = System.getenv().getOrDefault("TASKMANAGER_TEST_PG_PASSWORD", "");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void tasksByAssigneeUseAssigneeIndex() throws SQLException {
+        assertIndexScan(explain("SELECT * FROM tasks WHERE assigned_user_id = 1 ORDER BY created_date DESC, id DESC"),
+                "idx_tasks_assignee_created");
+    }
+
+    @Test
+    void tasksByCreatorUseCreatorIndex() throws SQLException {
+        assertIndexScan(explain("SELECT * FROM tasks WHERE create_user_id = 1 ORDER BY created_date DESC, id DESC"),
+                "idx_tasks_creator_created");
+    }
+
+    @Test
+    void ownTasksCombineBothIndexes() throws SQLException {
+        String plan = explain("SELECT * FROM tasks WHERE create_user_id = 1 OR assigned_user_id = 1");
+        assertIndexScan(plan, "idx_tasks_creator_created");
+        assertIndexScan(plan, "idx_tasks_assignee_created");
+    }
+
+    @Test
+    void managerTasksUseIndexesOnly() throws SQLException {
+        String plan = explain("SELECT * FROM tasks WHERE create_user_id = 1 OR assigned_user_id = 1"
+                + " OR create_user_id IN (SELECT id FROM users WHERE manager_id = 1)");
+        assertIndexScan(plan, "idx_users_manager_id");
+    }
+
+    @Test
+    void pendingTasksUsePartialIndex() throws SQLException {
+        assertIndexScan(explain("SELECT * FROM tasks WHERE assigned_user_id = 1 AND status = 'PENDING'"),
+                "idx_tasks_pending_assignee");
+    }
+
+    @Test
+    void adminListingReadsCreatedIndexInOrder() throws SQLException {
+        String plan = explain("SELECT * FROM tasks ORDER BY created_date DESC, id DESC LIMIT 101");
+        assertIndexScan(plan, "idx_tasks_created");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void dueOutboxBatchUsesDueIndex() throws SQLException {
+        assertIndexScan(explain("SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= now()"
+                + " ORDER BY id LIMIT 50 FOR UPDATE SKIP LOCKED"), "idx_email_outbox_due");
+    }
+
+    @Test
+    void searchUsesGinIndex() throws SQLException {
+        assertIndexScan(explain("SELECT t.id FROM tasks t, websearch_to_tsquery('english', 'deploy') q"
+                + " WHERE t.search_vector @@ q AND (t.create_user_id = 1 OR t.assigned_user_id = 1)"
+                + " ORDER BY ts_rank_cd(t.search_vector, q) DESC, t.id DESC LIMIT 21"), "idx_tasks_search");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static void assertIndexScan(String plan, String index) {
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskmanager.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hot task and outbox lookups are answered from the indexes
+ * created by the Flyway migrations rather than by scanning the table. H2 adds
+ * its own index for every foreign key and picks it for the assignee, creator
+ * and team lookups, so those tests are named for what they check: no table
+ * scan. {@link PostgresQueryPlanTest} checks the named indexes on PostgreSQL.
+ */
+@SpringBootTest
+public class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tasksByAssigneeAvoidTableScan() {
+        String plan = explain("SELECT * FROM tasks WHERE assigned_user_id = 1 ORDER BY created_date DESC, id DESC");
+        assertNoTableScan(plan, "TASKS");
+    }
+
+    @Test
+    void tasksByCreatorAvoidTableScan() {
+        String plan = explain("SELECT * FROM tasks WHERE create_user_id = 1 ORDER BY created_date DESC, id DESC");
+        assertNoTableScan(plan, "TASKS");
+    }
+
+    @Test
+    void teamTasksAvoidTableScans() {
+        String plan = explain("SELECT * FROM tasks WHERE create_user_id IN (SELECT id FROM users WHERE manager_id = 1)");
+        assertNoTableScan(plan, "USERS");
+        assertNoTableScan(plan, "TASKS");
+    }
+
+    @Test
+    void adminListingReadsCreatedIndexInOrder() {
+        String plan = explain("SELECT * FROM tasks ORDER BY created_date DESC, id DESC FETCH FIRST 101 ROWS ONLY");
+        assertIndexUsed(plan, "IDX_TASKS_CREATED", "TASKS");
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void dueOutboxBatchUsesDueIndex() {
+        String plan = explain("SELECT * FROM email_outbox WHERE status = 'PENDING'"
+                + " AND next_attempt_at <= CURRENT_TIMESTAMP ORDER BY id");
+        assertIndexUsed(plan, "IDX_EMAIL_OUTBOX_DUE", "EMAIL_OUTBOX");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static void assertIndexUsed(String plan, String index, String table) {
+        assertTrue(plan.toUpperCase().contains(index), plan);
+        assertNoTableScan(plan, table);
+    }
+
+    private static void assertNoTableScan(String plan, String table) {
+        assertFalse(plan.toUpperCase().contains(table + ".TABLESCAN"), plan);
+    }
+}
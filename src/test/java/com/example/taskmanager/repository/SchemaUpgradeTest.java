@@ -0,0 +1,141 @@
+package com.example.taskmanager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database holding only the schema the first release created with
+ * ddl-auto=update: users and tasks, task ids from IDENTITY, no Flyway history.
+ * V1 has to run on it rather than be baselined, adding the missing tables and
+ * sequences and starting the task sequence past the existing ids. The
+ * PostgreSQL case uses a scratch schema in the database named by
+ * TASKMANAGER_TEST_PG_URL, like {@link PostgresQueryPlanTest}.
+ */
+public class SchemaUpgradeTest {
+
+    private static final String PG_URL = System.getenv("TASKMANAGER_TEST_PG_URL");
+    private static final String PG_USER = System.getenv().getOrDefault("TASKMANAGER_TEST_PG_USER", "postgres");
+    private static final String PG_PASSWORD = System.getenv().getOrDefault("TASKMANAGER_TEST_PG_PASSWORD", "");
+
+    private static final String PG_SCHEMA = "taskmanager_upgrade_test";
+
+    @Test
+    void upgradesOriginalH2Schema() throws SQLException {
+        String url = "jdbc:h2:mem:upgrade_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            execute(connection,
+                    "CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                            + " email VARCHAR(255), password VARCHAR(255) NOT NULL,"
+                            + " role ENUM ('ADMIN', 'MANAGER', 'USER') NOT NULL,"
+                            + " username VARCHAR(255) NOT NULL UNIQUE, manager_id BIGINT REFERENCES users (id))",
+                    "CREATE TABLE tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                            + " created_date TIMESTAMP(6), description VARCHAR(255),"
+                            + " priority ENUM ('P0', 'P1', 'P2', 'P3', 'P4'),"
+                            + " status ENUM ('APPROVED', 'PENDING', 'REJECTED'), title VARCHAR(255) NOT NULL,"
+                            + " assigned_user_id BIGINT REFERENCES users (id), create_user_id BIGINT REFERENCES users (id))");
+            insertOriginalRows(connection);
+
+            Flyway flyway = flyway(url, "sa", "", "classpath:db/migration/h2", null);
+            flyway.migrate();
+
+            assertUpgraded(flyway, connection, "SELECT NEXT VALUE FOR tasks_seq");
+        }
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "TASKMANAGER_TEST_PG_URL", matches = ".+")
+    void upgradesOriginalPostgresSchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(PG_URL, PG_USER, PG_PASSWORD)) {
+            execute(connection,
+                    "DROP SCHEMA IF EXISTS " + PG_SCHEMA + " CASCADE",
+                    "CREATE SCHEMA " + PG_SCHEMA,
+                    "SET search_path TO " + PG_SCHEMA,
+                    "CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                            + " email VARCHAR(255), password VARCHAR(255) NOT NULL,"
+                            + " role VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'MANAGER', 'ADMIN')),"
+                            + " username VARCHAR(255) NOT NULL UNIQUE, manager_id BIGINT REFERENCES users (id))",
+                    "CREATE TABLE tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                            + " created_date TIMESTAMP(6), description VARCHAR(255),"
+                            + " priority VARCHAR(255) CHECK (priority IN ('P0', 'P1', 'P2', 'P3', 'P4')),"
+                            + " status VARCHAR(255) CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),"
+                            + " title VARCHAR(255) NOT NULL,"
+                            + " assigned_user_id BIGINT REFERENCES users (id), create_user_id BIGINT REFERENCES users (id))");
+            insertOriginalRows(connection);
+
+            Flyway flyway = flyway(PG_URL, PG_USER, PG_PASSWORD, "classpath:db/migration/postgresql", PG_SCHEMA);
+            try {
+                flyway.migrate();
+                assertUpgraded(flyway, connection, "SELECT nextval('tasks_seq')");
+            } finally {
+                execute(connection, "DROP SCHEMA IF EXISTS " + PG_SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    // Same baseline settings as application.properties
+    private static Flyway flyway(String url, String user, String password, String location, String schema) {
+        var configuration = Flyway.configure()
+                .dataSource(url, user, password)
+                .locations(location)
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+        if (schema != null) {
+            configuration.schemas(schema);
+        }
+        return configuration.load();
+    }
+
+    private static void insertOriginalRows(Connection connection) throws SQLException {
+        execute(connection,
+                "INSERT INTO users (username, password, role) VALUES ('admin', 'x', 'ADMIN')",
+                "INSERT INTO tasks (title, status, create_user_id, assigned_user_id, created_date)"
+                        + " VALUES ('one', 'PENDING', 1, 1, CURRENT_TIMESTAMP),"
+                        + " ('two', 'APPROVED', 1, 1, CURRENT_TIMESTAMP),"
+                        + " ('three', 'PENDING', 1, 1, CURRENT_TIMESTAMP)");
+    }
+
+    private static void assertUpgraded(Flyway flyway, Connection connection, String nextTaskId) throws SQLException {
+        MigrationInfo v1 = null;
+        for (MigrationInfo info : flyway.info().applied()) {
+            if (info.getVersion() != null && "1".equals(info.getVersion().getVersion())) {
+                v1 = info;
+            }
+        }
+        assertNotNull(v1, "V1 was not applied");
+        assertEquals(MigrationState.SUCCESS, v1.getState());
+        assertEquals(0, flyway.info().pending().length);
+
+        assertEquals(3L, queryLong(connection, "SELECT COUNT(*) FROM tasks"));
+        assertEquals(0L, queryLong(connection, "SELECT COUNT(*) FROM email_outbox"));
+        assertEquals(0L, queryLong(connection, "SELECT COUNT(*) FROM task_scope_versions"));
+        // Pooled optimizer: a sequence value v hands out the ids v - 49 .. v
+        long maxId = queryLong(connection, "SELECT MAX(id) FROM tasks");
+        assertTrue(queryLong(connection, nextTaskId) - 49 > maxId, "tasks_seq would reuse existing ids");
+    }
+
+    private static void execute(Connection connection, String... statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final Authentication manager = UsernamePasswordAuthenticationToken.authenticated(
+            "manager", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+
+    @Test
+    void testIssuedTokenVerifies() {
+        TokenService tokens = new TokenService(SECRET, Duration.ofHours(1), Clock.systemUTC());
+
+        TokenService.Claims claims = tokens.verify(tokens.issue(manager));
+
+        assertNotNull(claims);
+        assertEquals("manager", claims.username());
+        assertEquals("ROLE_MANAGER", claims.authorities().get(0).getAuthority());
+    }
+
+    @Test
+    void testTamperedTokenRejected() {
+        TokenService tokens = new TokenService(SECRET, Duration.ofHours(1), Clock.systemUTC());
+        String token = tokens.issue(manager);
+        String forgedPayload = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("9999999999|ROLE_ADMIN|manager".getBytes());
+
+        assertNull(tokens.verify(forgedPayload + token.substring(token.indexOf('.'))));
+        assertNull(tokens.verify("not-a-token"));
+        assertNull(new TokenService("another-secret-another-secret-xx", Duration.ofHours(1), Clock.systemUTC())
+                .verify(token));
+    }
+
+    @Test
+    void testExpiredTokenRejected() {
+        Instant issuedAt = Instant.parse("2024-01-01T00:00:00Z");
+        TokenService issuer = new TokenService(SECRET, Duration.ofMinutes(5), Clock.fixed(issuedAt, ZoneOffset.UTC));
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(5),
+                Clock.fixed(issuedAt.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+
+        assertNull(later.verify(issuer.issue(manager)));
+    }
+
+    @Test
+    void testShortSecretRejected() {
+        assertThrows(IllegalStateException.class, () -> new TokenService("short", Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.JobState;
+import com.example.taskmanager.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundJobsTest {
+
+    @Test
+    void testRunsAtMostConcurrencyJobs() throws Exception {
+        BackgroundJobs<TestJob> jobs = jobs(new MockEnvironment(), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try {
+            for (int i = 0; i < 5; i++) {
+                jobs.submit(new TestJob(1L), 1L, 10, job -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    job.finish(JobState.COMPLETED, null);
+                });
+            }
+            Thread.sleep(200);
+            assertEquals(2, peak.get());
+        } finally {
+            release.countDown();
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentSubmitsStayWithinTheQuota() throws Exception {
+        BackgroundJobs<TestJob> jobs = jobs(new MockEnvironment(), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(submitters.submit(() -> {
+                    start.await();
+                    return jobs.submit(new TestJob(1L), 1L, 3, job -> {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        job.finish(JobState.COMPLETED, null);
+                    });
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(3, accepted);
+            // Other owners have their own quota
+            assertTrue(jobs.submit(new TestJob(2L), 2L, 3, job -> job.finish(JobState.COMPLETED, null)));
+        } finally {
+            release.countDown();
+            submitters.shutdownNow();
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    void testJobEndingWithAnErrorFailsAndFreesItsSlot() throws Exception {
+        BackgroundJobs<TestJob> jobs = jobs(new MockEnvironment(), 1);
+        try {
+            TestJob job = new TestJob(1L);
+            assertTrue(jobs.submit(job, 1L, 1, started -> {
+                throw new OutOfMemoryError("simulated");
+            }));
+            for (int i = 0; i < 100 && !job.isDone(); i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(JobState.FAILED, job.state);
+
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            assertTrue(jobs.submit(new TestJob(1L), 1L, 1, started -> {
+                started.finish(JobState.COMPLETED, null);
+                next.complete(null);
+            }));
+            next.get(5, TimeUnit.SECONDS);
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    void testJobsAreVisibleToTheirOwnerOnly() {
+        BackgroundJobs<TestJob> jobs = jobs(new MockEnvironment(), 1);
+        try {
+            TestJob job = new TestJob(1L);
+            jobs.submit(job, 1L, 1, started -> started.finish(JobState.COMPLETED, null));
+
+            assertSame(job, jobs.find(job.id, user(1L)));
+            ResponseStatusException other = assertThrows(ResponseStatusException.class,
+                    () -> jobs.find(job.id, user(2L)));
+            assertEquals(HttpStatus.NOT_FOUND, other.getStatusCode());
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    void testRemovesExpiredJobs() throws Exception {
+        BackgroundJobs<TestJob> jobs = jobs(new MockEnvironment(), 1);
+        try {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            TestJob job = new TestJob(1L);
+            jobs.submit(job, 1L, 1, started -> {
+                started.finish(JobState.COMPLETED, null);
+                done.complete(null);
+            });
+            done.get(5, TimeUnit.SECONDS);
+
+            AtomicInteger removed = new AtomicInteger();
+            jobs.removeExpired(Duration.ofHours(1), expired -> removed.incrementAndGet());
+            assertEquals(0, removed.get());
+            jobs.removeExpired(Duration.ZERO, expired -> removed.incrementAndGet());
+            assertEquals(1, removed.get());
+            assertThrows(ResponseStatusException.class, () -> jobs.find(job.id, user(1L)));
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testUsesVirtualThreadsWhenEnabled() throws Exception {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        BackgroundJobs<TestJob> jobs = jobs(environment, 1);
+        try {
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            jobs.submit(new TestJob(1L), 1L, 1, job -> virtual.complete(isVirtual(Thread.currentThread())));
+            assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    private static BackgroundJobs<TestJob> jobs(MockEnvironment environment, int concurrency) {
+        return new BackgroundJobs<>(new ThreadPoolTaskExecutorBuilder(), environment, "test-job-", concurrency,
+                "Job not found");
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    // Thread.isVirtual() is Java 21 API; the main build still targets 17
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class TestJob extends BackgroundJobs.Job {
+
+        private TestJob(Long ownerId) {
+            super(ownerId);
+        }
+    }
+}
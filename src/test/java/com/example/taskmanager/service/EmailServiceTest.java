@@ -0,0 +1,140 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.EmailOutbox;
+import com.example.taskmanager.entity.OutboxStatus;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(emailService, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testSendTaskNotificationQueuesInsteadOfSending() {
+        User creator = new User();
+        creator.setUsername("creator");
+        creator.setEmail("creator@example.com");
+        User assignee = new User();
+        assignee.setUsername("assignee");
+        assignee.setEmail("assignee@example.com");
+
+        Task task = new Task();
+        task.setTitle("Outbox Task");
+        task.setCreateUserId(1L);
+        task.setAssignedUserId(2L);
+        task.setCreateUser(creator);
+        task.setAssignedUser(assignee);
+
+        emailService.sendTaskNotification(task);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(1)).saveAll(captor.capture());
+        List<EmailOutbox> queued = captor.getValue();
+        assertEquals(2, queued.size());
+        assertEquals("creator@example.com", queued.get(0).getRecipient());
+        assertEquals("Task Assigned: Outbox Task", queued.get(1).getSubject());
+        assertEquals(OutboxStatus.PENDING, queued.get(0).getStatus());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void testNothingIsQueuedWithoutMailSender() {
+        ReflectionTestUtils.setField(emailService, "mailSender", null);
+        User creator = new User();
+        creator.setUsername("creator");
+        creator.setEmail("creator@example.com");
+        Task task = new Task();
+        task.setTitle("Unsent Task");
+        task.setCreateUser(creator);
+
+        emailService.sendTaskNotification(task);
+
+        assertFalse(emailService.isEnabled());
+        assertEquals(0, emailService.dispatchPendingBatch());
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void testDispatchSendsWholeBatchInOneCall() {
+        EmailOutbox first = pending("a@example.com");
+        EmailOutbox second = pending("b@example.com");
+        when(outboxRepository.lockDueBatch(any(), any())).thenReturn(List.of(first, second));
+
+        int handled = emailService.dispatchPendingBatch();
+
+        assertEquals(2, handled);
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+        assertEquals(OutboxStatus.SENT, first.getStatus());
+        assertEquals(OutboxStatus.SENT, second.getStatus());
+    }
+
+    @Test
+    void testDispatchRetriesFailedMessageWithBackoffThenDeadLetters() {
+        EmailOutbox ok = pending("ok@example.com");
+        EmailOutbox bad = pending("bad@example.com");
+        when(outboxRepository.lockDueBatch(any(), any())).thenReturn(List.of(ok, bad));
+        doAnswer(invocation -> {
+            // Varargs are expanded, so the second argument is the second message of the batch
+            SimpleMailMessage rejected = invocation.getArgument(1);
+            throw new MailSendException(Map.of(rejected, new RuntimeException("mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        emailService.dispatchPendingBatch();
+
+        assertEquals(OutboxStatus.SENT, ok.getStatus());
+        assertEquals(OutboxStatus.PENDING, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertTrue(bad.getNextAttemptAt().isAfter(LocalDateTime.now(java.time.ZoneOffset.UTC)));
+
+        bad.setAttempts(4);
+        when(outboxRepository.lockDueBatch(any(), any())).thenReturn(List.of(bad));
+        doThrow(new MailSendException("relay down")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        assertEquals(0, emailService.dispatchPendingBatch());
+        assertEquals(OutboxStatus.DEAD, bad.getStatus());
+        assertEquals("relay down", bad.getLastError());
+    }
+
+    private EmailOutbox pending(String recipient) {
+        EmailOutbox entry = new EmailOutbox();
+        entry.setRecipient(recipient);
+        entry.setSubject("Subject");
+        entry.setBody("Body");
+        entry.setNextAttemptAt(LocalDateTime.now(java.time.ZoneOffset.UTC));
+        return entry;
+    }
+}
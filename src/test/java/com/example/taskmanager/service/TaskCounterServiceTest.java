@@ -0,0 +1,106 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.dto.TaskStats;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskCounter;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskCounterServiceTest {
+
+    @Mock
+    private TaskCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskCounterService taskCounterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskCounterService = new TaskCounterService(transactionManager);
+        ReflectionTestUtils.setField(taskCounterService, "counterRepository", counterRepository);
+        when(counterRepository.add(anyLong(), anyString(), anyString(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void testCreatedTaskCountsInEveryVisibleScope() {
+        taskCounterService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED,
+                view(TaskStatus.PENDING, Priority.P1, 1L, 2L), 10L));
+
+        InOrder order = inOrder(counterRepository);
+        order.verify(counterRepository).add(0L, "PENDING", "P1", 1L);
+        order.verify(counterRepository).add(1L, "PENDING", "P1", 1L);
+        order.verify(counterRepository).add(2L, "PENDING", "P1", 1L);
+        order.verify(counterRepository).add(10L, "PENDING", "P1", 1L);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void testStatusChangeMovesCount() {
+        taskCounterService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED,
+                view(TaskStatus.APPROVED, null, 1L, 1L), TaskStatus.PENDING, null));
+
+        verify(counterRepository).add(0L, "APPROVED", "NONE", 1L);
+        verify(counterRepository).add(0L, "PENDING", "NONE", -1L);
+        verify(counterRepository).add(1L, "APPROVED", "NONE", 1L);
+        verify(counterRepository).add(1L, "PENDING", "NONE", -1L);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void testUnchangedStatusAndDeleteWithoutPreviousState() {
+        taskCounterService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED,
+                view(TaskStatus.PENDING, Priority.P2, 1L, 1L), TaskStatus.PENDING, null));
+        taskCounterService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED,
+                view(TaskStatus.PENDING, Priority.P2, 1L, 1L), null));
+        verifyNoInteractions(counterRepository);
+
+        taskCounterService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.DELETED,
+                view(TaskStatus.REJECTED, Priority.P2, 1L, 1L), null));
+        verify(counterRepository).add(0L, "REJECTED", "P2", -1L);
+        verify(counterRepository).add(1L, "REJECTED", "P2", -1L);
+    }
+
+    @Test
+    void testStatsFillEveryCombination() {
+        User manager = new User();
+        manager.setId(10L);
+        manager.setRole(Role.MANAGER);
+        when(counterRepository.findByScopeId(10L)).thenReturn(List.of(
+                new TaskCounter(10L, "PENDING", "P0", 3), new TaskCounter(10L, "APPROVED", "NONE", 2)));
+
+        TaskStats stats = taskCounterService.getStats(manager);
+
+        assertEquals(TaskStats.Scope.TEAM, stats.getScope());
+        assertEquals(5, stats.getTotal());
+        assertEquals(3L, stats.getCounts().get(TaskStatus.PENDING).get("P0"));
+        assertEquals(2L, stats.getCounts().get(TaskStatus.APPROVED).get("NONE"));
+        assertEquals(0L, stats.getCounts().get(TaskStatus.REJECTED).get("P4"));
+        assertEquals(Priority.values().length + 1, stats.getCounts().get(TaskStatus.REJECTED).size());
+    }
+
+    private static TaskView view(TaskStatus status, Priority priority, Long createUserId, Long assignedUserId) {
+        return new TaskView(5L, "Counted", null, status, priority, LocalDateTime.now(), assignedUserId, "a",
+                createUserId, "c");
+    }
+}
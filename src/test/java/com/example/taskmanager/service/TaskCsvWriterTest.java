@@ -0,0 +1,48 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Priority;
+import com.example.taskmanager.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCsvWriterTest {
+
+    @Test
+    void testEscapePlainValueUnchanged() {
+        assertEquals("Plain title", TaskCsvWriter.escape("Plain title"));
+        assertEquals("", TaskCsvWriter.escape(null));
+    }
+
+    @Test
+    void testEscapeQuotesAndCommas() {
+        assertEquals("\"a, b\"", TaskCsvWriter.escape("a, b"));
+        assertEquals("\"say \"\"hi\"\"\"", TaskCsvWriter.escape("say \"hi\""));
+        assertEquals("\"it's\"", TaskCsvWriter.escape("it's"));
+    }
+
+    @Test
+    void testEscapeFoldsLineBreaks() {
+        assertEquals("line1 line2 line3", TaskCsvWriter.escape("line1\r\nline2\nline3"));
+        assertEquals("\"a, b c\"", TaskCsvWriter.escape("a, b\u2028c"));
+    }
+
+    @Test
+    void testWriteRow() throws Exception {
+        TaskView task = new TaskView(7L, "Fix, deploy", null, TaskStatus.PENDING, Priority.P1,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5), 3L, "bob", 3L, "bob");
+
+        StringWriter out = new StringWriter();
+        TaskCsvWriter csv = new TaskCsvWriter(out);
+        csv.writeHeader();
+        csv.writeRow(task);
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals('\uFEFF' + TaskCsvWriter.HEADER, lines[0]);
+        assertEquals("7,\"Fix, deploy\",,PENDING,P1,bob,2024-01-02T03:04:05", lines[1]);
+    }
+}
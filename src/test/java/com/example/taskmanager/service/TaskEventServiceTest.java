@@ -0,0 +1,167 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskChangeEvent;
+import com.example.taskmanager.dto.TaskView;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskEventServiceTest {
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @InjectMocks
+    private TaskEventService taskEventService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testEventsAreFilteredByVisibility() {
+        RecordingEmitter creator = subscribe(1L, Role.USER);
+        RecordingEmitter manager = subscribe(10L, Role.MANAGER);
+        RecordingEmitter otherUser = subscribe(2L, Role.USER);
+        RecordingEmitter admin = subscribe(99L, Role.ADMIN);
+
+        taskEventService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.CREATED, view(5L, 1L, 1L), 10L));
+
+        assertEquals(1, creator.sent);
+        assertEquals(1, manager.sent);
+        assertEquals(0, otherUser.sent);
+        assertEquals(1, admin.sent);
+    }
+
+    @Test
+    void testNoDispatchWithoutSubscribers() {
+        taskEventService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.DELETED, view(5L, 1L, 1L), null));
+
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    void testBrokenSubscriberIsDropped() {
+        RecordingEmitter broken = subscribe(1L, Role.USER);
+        broken.failing = true;
+
+        taskEventService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, view(5L, 1L, 1L), null));
+
+        assertEquals(0, taskEventService.subscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotDelayOthers() throws Exception {
+        ReflectionTestUtils.setField(taskEventService, "taskExecutor", new SimpleAsyncTaskExecutor());
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(1L, Role.USER);
+        slow.blockUntil = unblock;
+        RecordingEmitter fast = subscribe(1L, Role.USER);
+        fast.received = new CountDownLatch(3);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                taskEventService.onTaskChange(
+                        TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, view(5L, 1L, 1L), null));
+            }
+            assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    void testSubscriberThatFallsBehindIsClosed() {
+        ReflectionTestUtils.setField(taskEventService, "queueSize", 2);
+        List<Runnable> queued = new ArrayList<>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(taskExecutor).execute(any(Runnable.class));
+        RecordingEmitter stalled = subscribe(1L, Role.USER);
+
+        for (int i = 0; i < 3; i++) {
+            taskEventService.onTaskChange(TaskChangeEvent.of(TaskChangeEvent.Type.UPDATED, view(5L, 1L, 1L), null));
+        }
+
+        assertEquals(0, taskEventService.subscriberCount());
+        assertTrue(stalled.completed);
+        // A single drain was scheduled for the two queued events
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void testDeletedEventCarriesNoTask() {
+        TaskChangeEvent event = TaskChangeEvent.of(TaskChangeEvent.Type.DELETED, view(5L, 1L, 2L), null);
+
+        assertNull(event.getTask());
+        assertEquals(5L, event.getId());
+        assertTrue(event.getAudience().containsAll(List.of(1L, 2L)));
+    }
+
+    private RecordingEmitter subscribe(Long userId, Role role) {
+        User user = new User();
+        user.setId(userId);
+        user.setRole(role);
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventService.register(emitter, user);
+        return emitter;
+    }
+
+    private static TaskView view(Long id, Long createUserId, Long assignedUserId) {
+        return new TaskView(id, "Task " + id, null, TaskStatus.PENDING, null, null, assignedUserId, "assignee",
+                createUserId, "creator");
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private volatile int sent;
+        private volatile boolean failing;
+        private volatile boolean completed;
+        private volatile CountDownLatch blockUntil;
+        private volatile CountDownLatch received;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent++;
+            if (received != null) {
+                received.countDown();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+
+    @Test
+    void testTokenizeIgnoresCaseAndPunctuation() {
+        assertEquals(List.of("fix", "the", "db", "migration", "v2"),
+                TaskSearchIndex.tokenize("Fix the DB-migration (v2)!"));
+        assertEquals(List.of(), TaskSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void testSearchRequiresEveryTerm() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Deploy release", "after the database migration");
+        index.put(2, "Deploy hotfix", null);
+
+        assertEquals(List.of(1L), index.search("deploy migration"));
+        assertEquals(List.of(), index.search("deploy rollback"));
+        assertEquals(List.of(), index.search("  ,, "));
+    }
+
+    @Test
+    void testTitleMatchesRankAboveDescriptionMatches() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Quarterly report", "invoice totals");
+        index.put(2, "Invoice run", "quarterly");
+        index.put(3, "Unrelated", "nothing here");
+
+        assertEquals(List.of(2L, 1L), index.search("invoice"));
+        assertEquals(List.of(1L, 2L), index.search("quarterly"));
+    }
+
+    @Test
+    void testEqualScoresPutNewestIdFirst() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(5, "Backup", null);
+        index.put(9, "Backup", null);
+
+        assertEquals(List.of(9L, 5L), index.search("backup"));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDrops() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Old title", null);
+        index.put(1, "New title", null);
+
+        assertEquals(List.of(), index.search("old"));
+        assertEquals(List.of(1L), index.search("new"));
+
+        index.remove(1);
+        assertEquals(List.of(), index.search("new"));
+        assertEquals(0, index.size());
+    }
+}
@@ -1,19 +1,30 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.dto.TaskChangeEvent;
 import com.example.taskmanager.entity.Task;
 import com.example.taskmanager.entity.TaskStatus;
 import com.example.taskmanager.entity.User;
+import com.example.taskmanager.entity.Role;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 
 class TaskServiceTest {
@@ -24,15 +35,22 @@ class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(taskService, "meterRegistry", new SimpleMeterRegistry());
     }
 
     @Test
@@ -62,7 +80,7 @@ class TaskServiceTest {
         task.setId(1L);
         task.setStatus(TaskStatus.PENDING);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.lockById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         Task updatedTask = taskService.updateTaskStatus(1L, TaskStatus.APPROVED);
@@ -71,4 +89,80 @@ class TaskServiceTest {
         assertEquals(TaskStatus.APPROVED, updatedTask.getStatus());
         verify(taskRepository, times(1)).save(task);
     }
+
+    @Test
+    void testCreateTasksValidatesAssigneesWithOneLookup() {
+        User manager = new User();
+        manager.setId(1L);
+        manager.setRole(Role.MANAGER);
+
+        User report = new User();
+        report.setId(2L);
+        report.setUsername("report");
+        report.setManager(manager);
+
+        Task forReport = new Task();
+        forReport.setTitle("For report");
+        forReport.setAssignedUserId(2L);
+        Task forSelf = new Task();
+        forSelf.setTitle("For self");
+
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(report));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> created = taskService.createTasks(List.of(forReport, forSelf), manager);
+
+        assertEquals(2, created.size());
+        assertEquals(report, created.get(0).getAssignedUser());
+        assertEquals(1L, created.get(1).getAssignedUserId());
+        assertEquals(TaskStatus.PENDING, created.get(1).getStatus());
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(emailService, times(1)).sendTaskNotifications(anyList());
+    }
+
+    @Test
+    void testCreateTasksRejectsAssigneeOutsideTeam() {
+        User manager = new User();
+        manager.setId(1L);
+        manager.setRole(Role.MANAGER);
+
+        User stranger = new User();
+        stranger.setId(3L);
+
+        Task task = new Task();
+        task.setTitle("Not allowed");
+        task.setAssignedUserId(3L);
+
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(stranger));
+
+        assertThrows(RuntimeException.class, () -> taskService.createTasks(List.of(task), manager));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateTaskPublishesChangeToVisibleUsers() {
+        User manager = new User();
+        manager.setId(10L);
+        User creator = new User();
+        creator.setId(1L);
+        creator.setRole(Role.USER);
+        creator.setManager(manager);
+
+        Task task = new Task();
+        task.setTitle("Streamed");
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+
+        taskService.createTask(task, creator);
+
+        ArgumentCaptor<TaskChangeEvent> event = ArgumentCaptor.forClass(TaskChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangeEvent.Type.CREATED, event.getValue().getType());
+        assertEquals(7L, event.getValue().getId());
+        assertEquals(Set.of(1L, 10L), event.getValue().getAudience());
+    }
 }
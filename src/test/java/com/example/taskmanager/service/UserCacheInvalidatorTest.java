@@ -0,0 +1,84 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.config.CacheConfig;
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserCacheInvalidatorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private jakarta.persistence.Cache jpaCache;
+
+    @Mock
+    private org.hibernate.Cache secondLevel;
+
+    @Mock
+    private Cache principals;
+
+    @InjectMocks
+    private UserCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(org.hibernate.Cache.class)).thenReturn(secondLevel);
+        when(cacheManager.getCache(CacheConfig.PRINCIPALS)).thenReturn(principals);
+    }
+
+    @Test
+    void testNotificationFromAnotherNodeEvictsUser() {
+        invalidator.onNotification("other-node|42|alice");
+
+        verify(secondLevel).evictEntityData(User.class, 42L);
+        verify(secondLevel).evictDefaultQueryRegion();
+        verify(principals).evict("alice");
+    }
+
+    @Test
+    void testAllUsersNotificationEvictsEverything() {
+        invalidator.onNotification("other-node|*|*");
+
+        verify(secondLevel).evictEntityData(User.class);
+        verify(secondLevel).evictDefaultQueryRegion();
+        verify(principals).clear();
+        verify(principals, never()).evict(any());
+    }
+
+    @Test
+    void testMalformedNotificationIsIgnored() {
+        invalidator.onNotification("garbage");
+
+        verify(secondLevel, never()).evictEntityData(any(Class.class), any());
+        verify(principals, never()).evict(any());
+    }
+
+    @Test
+    void testFailedNotificationDoesNotStopDelivery() {
+        doThrow(new IllegalStateException("region closed")).when(secondLevel).evictEntityData(User.class, 7L);
+
+        assertDoesNotThrow(() -> invalidator.deliver("other-node|not-a-number|bob"));
+        assertDoesNotThrow(() -> invalidator.deliver("other-node|7|carol"));
+        invalidator.deliver("other-node|42|alice");
+
+        verify(secondLevel).evictEntityData(User.class, 42L);
+        verify(principals).evict("alice");
+    }
+}
@@ -2,18 +2,28 @@ package com.example.taskmanager.service;
 
 import com.example.taskmanager.entity.Role;
 import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskArchiveRepository;
+import com.example.taskmanager.repository.TaskRepository;
 import com.example.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
@@ -24,12 +34,35 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache principalCache;
+
+    @Mock
+    private TaskVersionService taskVersionService;
+
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private UserCacheInvalidator userCacheInvalidator;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
     @InjectMocks
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userService, "meterRegistry", new SimpleMeterRegistry());
+        when(cacheManager.getCache("principals")).thenReturn(principalCache);
     }
 
     @Test
@@ -65,4 +98,97 @@ class UserServiceTest {
         assertNotNull(foundUser);
         assertEquals("testuser", foundUser.getUsername());
     }
+
+    @Test
+    void testCachedPrincipalIsCopiedForEachCaller() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("testuser");
+        user.setRole(Role.USER);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        User first = userService.getUserByUsername("testuser");
+        ArgumentCaptor<Object> snapshot = ArgumentCaptor.forClass(Object.class);
+        verify(principalCache).put(eq("testuser"), snapshot.capture());
+        doReturn(snapshot.getValue()).when(principalCache).get(eq("testuser"), any(Class.class));
+        first.setRole(Role.ADMIN);
+
+        User second = userService.getUserByUsername("testuser");
+
+        assertNotSame(first, second);
+        assertEquals(5L, second.getId());
+        assertEquals(Role.USER, second.getRole());
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedPrincipal() {
+        User existing = new User();
+        existing.setId(2L);
+        existing.setUsername("testuser");
+
+        User admin = new User();
+        admin.setId(1L);
+        admin.setRole(Role.ADMIN);
+
+        User updates = new User();
+        updates.setEmail("new@example.com");
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(existing));
+        when(userRepository.save(any(User.class))).thenReturn(existing);
+
+        userService.updateUser(2L, updates, admin);
+
+        assertEquals("new@example.com", existing.getEmail());
+        verify(principalCache, times(1)).evict("testuser");
+        verify(userCacheInvalidator, times(1)).userChanged(existing);
+    }
+
+    @Test
+    void testDeleteUserUnlinksWithBulkUpdates() {
+        User target = new User();
+        target.setId(2L);
+        target.setUsername("leaver");
+
+        User admin = new User();
+        admin.setId(1L);
+        admin.setRole(Role.ADMIN);
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(taskRepository.existsByAssignedUserId(2L)).thenReturn(false);
+        when(userRepository.findReportUsernames(2L)).thenReturn(List.of("report1", "report2"));
+        when(userRepository.clearManager(2L)).thenReturn(2);
+
+        userService.deleteUser(2L, admin);
+
+        verify(taskRepository).unlinkCreator(2L);
+        verify(taskArchiveRepository).unlinkCreator(2L);
+        verify(taskArchiveRepository).unlinkAssignee(2L);
+        verify(userRepository).deleteById(2L);
+        // The reports' cached principals named the manager
+        verify(userRepository).clearManager(2L);
+        verify(principalCache).evict("report1");
+        verify(principalCache).evict("report2");
+        verify(principalCache).evict("leaver");
+        verify(principalCache, never()).clear();
+        verify(userCacheInvalidator).allUsersChanged();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testDeleteUserWithAssignedTasksIsRefused() {
+        User target = new User();
+        target.setId(2L);
+
+        User admin = new User();
+        admin.setId(1L);
+        admin.setRole(Role.ADMIN);
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(taskRepository.existsByAssignedUserId(2L)).thenReturn(true);
+
+        assertThrows(ResponseStatusException.class, () -> userService.deleteUser(2L, admin));
+        verify(userRepository, never()).clearManager(any());
+        verify(userRepository, never()).deleteById(any());
+    }
 }
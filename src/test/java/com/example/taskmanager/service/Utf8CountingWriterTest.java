@@ -0,0 +1,25 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Utf8CountingWriterTest {
+
+    @Test
+    void testCountsEncodedBytes() throws Exception {
+        String text = "plain, caf\u00E9 \u20AC \uD83D\uDE00\uFEFF";
+        StringWriter target = new StringWriter();
+        Utf8CountingWriter writer = new Utf8CountingWriter(target);
+
+        writer.write(text.substring(0, 5));
+        writer.write(text.charAt(5));
+        writer.write(text.toCharArray(), 6, text.length() - 6);
+
+        assertEquals(text, target.toString());
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, writer.getBytes());
+    }
+}